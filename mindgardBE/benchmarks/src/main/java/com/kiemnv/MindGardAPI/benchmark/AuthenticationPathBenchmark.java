@@ -0,0 +1,84 @@
+package com.kiemnv.MindGardAPI.benchmark;
+
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.AccessTokenRevocationService;
+import com.kiemnv.MindGardAPI.service.JwtService;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What JwtAuthenticationFilter does per request, minus the user lookup (served from a map here so
+ * the numbers isolate token handling): parse + verify + revocation check + build the principal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationPathBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int usernameLength;
+
+    @Param({"0", "10000"})
+    public int revokedTokens;
+
+    private JwtService jwtService;
+    private AccessTokenRevocationService revocationService;
+    private Map<String, User> usersByUsername;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        var properties = BenchmarkFixtures.jwtProperties();
+        jwtService = new JwtService(properties);
+        revocationService = new AccessTokenRevocationService(properties);
+
+        User user = BenchmarkFixtures.user(usernameLength);
+        usersByUsername = Map.of(user.getUsername(), user);
+        accessToken = jwtService.generateAccessToken(user);
+
+        Date expiresAt = new Date(System.currentTimeMillis() + properties.getAccessTokenExpiration());
+        for (int i = 0; i < revokedTokens; i++) {
+            revocationService.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+    }
+
+    /** Current filter: one parse/verify, claims reused for revocation check and subject. */
+    @Benchmark
+    public Authentication verifyOnceAndBuildPrincipal() {
+        JWTClaimsSet claims = jwtService.verifyAndGetClaims(accessToken, "access");
+        if (claims == null || revocationService.isRevoked(claims)) return null;
+        return toAuthentication(usersByUsername.get(claims.getSubject()));
+    }
+
+    /** Earlier filter shape: validateToken, then a second parse to read the subject. */
+    @Benchmark
+    public Authentication validateThenExtractSubject() {
+        if (!jwtService.validateToken(accessToken, "access")) return null;
+        return toAuthentication(usersByUsername.get(jwtService.getUsernameFromToken(accessToken)));
+    }
+
+    private static Authentication toAuthentication(User user) {
+        if (user == null) return null;
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,35 @@
+package com.kiemnv.MindGardAPI.benchmark;
+
+import com.kiemnv.MindGardAPI.config.JwtProperties;
+import com.kiemnv.MindGardAPI.entity.Role;
+import com.kiemnv.MindGardAPI.entity.User;
+
+import java.util.Set;
+
+/**
+ * Objects shared by the benchmarks, built the same way Spring would build them from application.yml.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties jwtProperties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecretKey("rUOugZS6xjj75a4e2xksfkBi1rv0h9Oo22wASIbY+i1Zf2nCPbwgjhPw2m+r1Zj4");
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(2_592_000_000L);
+        properties.setIssuer("MindGard Extension Productivity");
+        return properties;
+    }
+
+    /** Token size is driven by the subject; roles are capped by the Role enum. */
+    static User user(int usernameLength) {
+        return User.builder()
+                .id(42L)
+                .username("u".repeat(usernameLength))
+                .email("bench@example.com")
+                .roles(Set.of(Role.USER, Role.ADMIN))
+                .build();
+    }
+}
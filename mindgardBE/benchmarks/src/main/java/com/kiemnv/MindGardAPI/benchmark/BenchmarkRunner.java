@@ -0,0 +1,37 @@
+package com.kiemnv.MindGardAPI.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the selected benchmarks once per thread count with the GC profiler attached, so each
+ * result reports throughput alongside allocation rate (gc.alloc.rate.norm = bytes/op).
+ *
+ * Usage: java -jar target/benchmarks.jar [include-regex] [thread counts, e.g. 1,4,16]
+ * For anything else use the regular JMH CLI: java -cp target/benchmarks.jar org.openjdk.jmh.Main -h
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com\\.kiemnv\\.MindGardAPI\\.benchmark\\..*";
+        String threads = args.length > 1 ? args[1] : "1,4,16";
+
+        for (String t : threads.split(",")) {
+            int threadCount = Integer.parseInt(t.trim());
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .addProfiler(GCProfiler.class)
+                    .result("target/jmh-result-t" + threadCount + ".json")
+                    .resultFormat(org.openjdk.jmh.results.format.ResultFormatType.JSON)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
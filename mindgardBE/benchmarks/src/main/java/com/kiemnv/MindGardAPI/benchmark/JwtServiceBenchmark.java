@@ -0,0 +1,92 @@
+package com.kiemnv.MindGardAPI.benchmark;
+
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.JwtService;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the individual JwtService operations, per token size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int usernameLength;
+
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(BenchmarkFixtures.jwtProperties());
+        user = BenchmarkFixtures.user(usernameLength);
+        accessToken = jwtService.generateAccessToken(user);
+        refreshToken = jwtService.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public boolean validateAccessToken() {
+        return jwtService.validateToken(accessToken, "access");
+    }
+
+    @Benchmark
+    public boolean validateRefreshToken() {
+        return jwtService.validateToken(refreshToken, "refresh");
+    }
+
+    @Benchmark
+    public JWTClaimsSet verifyAndGetClaims() {
+        return jwtService.verifyAndGetClaims(accessToken, "access");
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtService.getUsernameFromToken(accessToken);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtService.getUserIdFromToken(accessToken);
+    }
+
+    @Benchmark
+    public Date getExpirationFromToken() {
+        return jwtService.getExpirationFromToken(accessToken);
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return jwtService.hashToken(refreshToken);
+    }
+}
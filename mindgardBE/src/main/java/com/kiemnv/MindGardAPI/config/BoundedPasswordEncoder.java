@@ -0,0 +1,145 @@
+package com.kiemnv.MindGardAPI.config;
+
+import com.kiemnv.MindGardAPI.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the delegate (BCrypt) on a small fixed pool with a bounded queue so a login burst
+ * cannot occupy every Tomcat worker. When the queue is full, or a job waits longer than
+ * max-wait-ms, the caller gets a {@link TooManyRequestsException} (429 + Retry-After).
+ *
+ * max-wait-ms bounds the time a job spends queued, not the hash itself: BCrypt never checks for
+ * interrupts, so a job that has started is always waited for. Cancelling it would only free the
+ * caller while the pool thread kept hashing, leaving the pool saturated longer than it looks.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMs = properties.getMaxWaitMs();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent computing a password hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent computing a password hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a hash job waited for a free hashing thread")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Hash jobs rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash jobs waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hash jobs currently running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /** Called by Spring on context shutdown (inferred destroy method). */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> job) {
+        long submittedAt = System.nanoTime();
+        // claimed by whichever comes first: the pool thread starting the job, or the caller timing out
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) return null; // caller already gave up
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return job.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing pool saturated (queue={}), rejecting request", executor.getQueue().size());
+            throw new TooManyRequestsException("Server is busy, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            try {
+                return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    // still queued: drop it so it never takes a hashing thread
+                    future.cancel(false);
+                    rejectedCounter.increment();
+                    log.warn("Password hashing job still queued after {} ms, rejecting request", maxWaitMs);
+                    throw new TooManyRequestsException("Server is busy, please retry shortly", retryAfterSeconds);
+                }
+                // already hashing; it can't be stopped, so let it finish
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            if (claimed.compareAndSet(false, true)) future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills the friendships table from accepted friend_requests the first time it runs against a
+ * database that predates it, and adds the user_low < user_high check that ddl-auto can't express.
+ * Runs before FriendGraph loads. A no-op once friendships has rows or there is nothing to copy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FriendshipBackfillMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Integer checks = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'ck_friendships_ordered'", Integer.class);
+        if (checks == null || checks == 0) {
+            jdbcTemplate.execute("DELETE FROM friendships WHERE user_low >= user_high");
+            jdbcTemplate.execute("ALTER TABLE friendships ADD CONSTRAINT ck_friendships_ordered CHECK (user_low < user_high)");
+        }
+
+        Boolean populated = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM friendships)", Boolean.class);
+        if (Boolean.TRUE.equals(populated)) return;
+
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO friendships (user_low, user_high, since)
+                SELECT LEAST(requester_id, recipient_id), GREATEST(requester_id, recipient_id),
+                       MIN(COALESCE(responded_at, created_at, now()))
+                FROM friend_requests
+                WHERE status = 'ACCEPTED' AND requester_id <> recipient_id
+                GROUP BY 1, 2
+                ON CONFLICT (user_low, user_high) DO NOTHING
+                """);
+        if (inserted > 0) {
+            log.info("Backfilled {} friendships from accepted friend requests", inserted);
+        }
+    }
+}
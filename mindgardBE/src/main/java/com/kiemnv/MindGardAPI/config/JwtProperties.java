@@ -12,4 +12,5 @@ public class JwtProperties {
     private Long accessTokenExpiration;
     private Long refreshTokenExpiration;
     private String issuer;
+    private int refreshTokenCleanupBatchSize = 500;
 }
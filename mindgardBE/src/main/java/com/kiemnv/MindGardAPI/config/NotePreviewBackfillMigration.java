@@ -0,0 +1,31 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills notes.preview for notes written before the column existed. NoteService computes it on
+ * every write after that; this approximates the same text (collapsed whitespace, first 160
+ * characters) and only touches rows where it is still missing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotePreviewBackfillMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = jdbcTemplate.update("""
+                UPDATE notes
+                SET preview = LEFT(TRIM(REGEXP_REPLACE(LEFT(content, 2000), '\\s+', ' ', 'g')), 160)
+                WHERE preview IS NULL AND content IS NOT NULL
+                """);
+        if (updated > 0) log.info("Backfilled preview for {} notes", updated);
+    }
+}
@@ -0,0 +1,35 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the full-text column and GIN index behind note search, which ddl-auto can't express.
+ *
+ * search_vector is a stored generated column, so Postgres keeps it current on every insert and
+ * update without any application code. Only the first 100k characters of content are indexed:
+ * that bounds the work each write does on a huge note and keeps the vector under the tsvector
+ * size limit. The 'simple' configuration (lower-casing, no stemming) is used because notes are
+ * written in more than one language.
+ */
+@Component
+@RequiredArgsConstructor
+public class NoteSearchIndexMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("""
+                ALTER TABLE notes ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('simple', COALESCE(title, '')), 'A') ||
+                    setweight(to_tsvector('simple', LEFT(COALESCE(content, ''), 100000)), 'B')
+                ) STORED
+                """);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_notes_search ON notes USING GIN (search_vector)");
+    }
+}
@@ -0,0 +1,15 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+    private int poolSize = 4;
+    private int queueCapacity = 32;
+    private long maxWaitMs = 5000;
+    private long retryAfterSeconds = 2;
+}
@@ -0,0 +1,58 @@
+package com.kiemnv.MindGardAPI.config;
+
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
+import com.kiemnv.MindGardAPI.service.ChangeVersionService;
+import com.kiemnv.MindGardAPI.service.RankKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives quick links created before rank keys existed a rank_key, keeping the order of the old
+ * integer ordering column (ties by id). Each affected user's links are spread evenly and stamped
+ * with a new change version so delta sync picks up the keys. A no-op once every link has a key.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuickLinkRankBackfillMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeVersionService changeVersionService;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Boolean pending = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM quicklinks WHERE rank_key IS NULL)", Boolean.class);
+        if (!Boolean.TRUE.equals(pending)) return;
+
+        // rows that predate rank keys also predate the removal of the ordering column
+        Map<Long, List<Long>> idsByUser = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT user_id, id FROM quicklinks
+                WHERE user_id IN (SELECT user_id FROM quicklinks WHERE rank_key IS NULL)
+                ORDER BY user_id, rank_key, ordering, id
+                """, rs -> {
+            idsByUser.computeIfAbsent(rs.getLong("user_id"), k -> new ArrayList<>()).add(rs.getLong("id"));
+        });
+
+        List<Object[]> updates = new ArrayList<>();
+        idsByUser.forEach((userId, ids) -> {
+            String[] keys = RankKeys.spread(ids.size());
+            long version = changeVersionService.nextVersion(userId, SyncCollection.QUICK_LINKS);
+            for (int i = 0; i < ids.size(); i++) updates.add(new Object[]{keys[i], version, ids.get(i)});
+        });
+        jdbcTemplate.batchUpdate("UPDATE quicklinks SET rank_key = ?, change_version = ? WHERE id = ?", updates);
+        log.info("Assigned rank keys to {} quick links of {} users", updates.size(), idsByUser.size());
+    }
+}
@@ -0,0 +1,27 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Duration idleEviction = Duration.ofMinutes(10);
+    private int maxBuckets = 100_000; // per limiter; caps memory when keys (IPs, usernames) are spoofed
+    private Map<String, RouteLimit> routes = new HashMap<>(); // key: exact request path, e.g. /api/auth/login
+
+    @Data
+    public static class RouteLimit {
+        private int ipCapacity = 20;
+        private double ipRefillPerMinute = 20;
+        private int accountCapacity = 0;          // 0 = no per-account limit on this route
+        private double accountRefillPerMinute = 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-off migration for refresh_tokens: ddl-auto=update adds token_hash but never drops the old
+ * raw "token" column (NOT NULL), which would break inserts. Backfills the digest from the raw
+ * value, then drops it. Safe to run on every start; it is a no-op once the column is gone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenHashMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Integer legacyColumns = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_name = 'refresh_tokens' AND column_name = 'token'
+                """, Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) return;
+
+        int backfilled = jdbcTemplate.update("""
+                UPDATE refresh_tokens
+                SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+                WHERE token_hash IS NULL AND token IS NOT NULL
+                """);
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN token");
+        jdbcTemplate.execute("DELETE FROM refresh_tokens WHERE token_hash IS NULL");
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL");
+        log.info("Migrated refresh_tokens to hashed storage ({} rows backfilled)", backfilled);
+    }
+}
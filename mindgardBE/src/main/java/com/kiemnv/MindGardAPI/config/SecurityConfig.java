@@ -3,8 +3,11 @@ package com.kiemnv.MindGardAPI.config;
 //import com.kiemnv.SpringSecurityJWT.filter.JwtAuthenticationFilter;
 //import com.kiemnv.SpringSecurityJWT.service.UserService;
 
+import com.kiemnv.MindGardAPI.filter.AuthRateLimitFilter;
 import com.kiemnv.MindGardAPI.filter.JwtAuthenticationFilter;
 import com.kiemnv.MindGardAPI.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,11 +42,15 @@ public class SecurityConfig {
 
     private final UserService userService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+        // BCrypt runs on its own bounded pool so login bursts don't pin every request thread
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(10), passwordHashingProperties, meterRegistry);
     }
 
     @Bean
@@ -80,9 +87,14 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .authorizeHttpRequests(authz -> authz
+                                // async re-dispatch of an already-authorized SSE response
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/", "/health").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/v3/api-docs/**","/swagger/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                                 .requestMatchers("/api/feedback/**").permitAll()
+                                .requestMatchers("/api/auth/sessions/**").authenticated()
                                 .requestMatchers("/api/auth/**").permitAll()
                                 .requestMatchers("/api/news/**").permitAll()
                                 .requestMatchers("/api/blogs/**").permitAll()
@@ -104,6 +116,7 @@ public class SecurityConfig {
                                 .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -120,6 +133,7 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
+        configuration.setExposedHeaders(Arrays.asList("RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset", "Retry-After"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
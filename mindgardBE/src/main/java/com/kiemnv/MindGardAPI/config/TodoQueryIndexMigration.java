@@ -0,0 +1,24 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the todo index that ddl-auto can't express: @Index has no NULLS LAST, and the
+ * priority-sorted todo query orders by priority DESC NULLS LAST, id DESC.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoQueryIndexMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_todos_user_priority ON todos (user_id, priority DESC NULLS LAST, id DESC)");
+    }
+}
@@ -0,0 +1,46 @@
+package com.kiemnv.MindGardAPI.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills todo_tags from the comma-separated todos.tags column for todos that predate the table.
+ * Tags are normalized the way TodoService does it: trimmed, lower-cased, at most 50 characters,
+ * de-duplicated and capped at the first 20 per todo. Keyed on todos that have tags but no
+ * todo_tags rows yet, so it is safe to run on every start, including while requests are already
+ * creating tagged todos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoTagBackfillMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO todo_tags (user_id, todo_id, tag)
+                SELECT user_id, todo_id, tag FROM (
+                    SELECT user_id, todo_id, tag,
+                           ROW_NUMBER() OVER (PARTITION BY todo_id ORDER BY first_pos) AS n
+                    FROM (
+                        SELECT t.user_id, t.id AS todo_id, LEFT(LOWER(TRIM(x.tag)), 50) AS tag, MIN(x.pos) AS first_pos
+                        FROM todos t, UNNEST(STRING_TO_ARRAY(t.tags, ',')) WITH ORDINALITY AS x(tag, pos)
+                        WHERE t.tags IS NOT NULL AND TRIM(x.tag) <> ''
+                          AND NOT EXISTS (SELECT 1 FROM todo_tags tt WHERE tt.todo_id = t.id)
+                        GROUP BY t.user_id, t.id, LEFT(LOWER(TRIM(x.tag)), 50)
+                    ) distinct_tags
+                ) ranked
+                WHERE n <= 20
+                ON CONFLICT DO NOTHING
+                """);
+        if (inserted > 0) log.info("Backfilled {} todo tags from todos.tags", inserted);
+    }
+}
@@ -5,6 +5,7 @@ import com.kiemnv.MindGardAPI.dto.request.RefreshTokenRequest;
 import com.kiemnv.MindGardAPI.dto.request.RegisterRequest;
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
 import com.kiemnv.MindGardAPI.dto.response.AuthResponse;
+import com.kiemnv.MindGardAPI.dto.response.SessionDto;
 import com.kiemnv.MindGardAPI.entity.User;
 import com.kiemnv.MindGardAPI.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -58,15 +61,7 @@ public class AuthController {
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Refresh token cookie missing")
     public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(HttpServletRequest request,
                                                                   HttpServletResponse response) {
-        String refreshToken = null;
-        if (request.getCookies() != null) {
-            for (Cookie cookie : request.getCookies()) {
-                if ("refreshToken".equals(cookie.getName())) {
-                    refreshToken = cookie.getValue();
-                    break;
-                }
-            }
-        }
+        String refreshToken = getRefreshTokenCookie(request);
 
         if (refreshToken == null) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Refresh token not found in cookie", 400));
@@ -77,15 +72,17 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "Logout (revoke refresh token)", description = "Revoke a refresh token in DB. If you use refresh cookie flow, call /refresh to rotate and then revoke the current token.")
+    @Operation(summary = "Logout (revoke refresh token)", description = "Revoke a refresh token in DB, and the bearer access token if one is sent. If you use refresh cookie flow, call /refresh to rotate and then revoke the current token.")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Logout successful")
-    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request) {
-        authService.logout(request.getRefreshToken());
+    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request,
+                                                    @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(request.getRefreshToken(), accessToken);
         return ResponseEntity.ok(ApiResponse.success(null, "Logout successful"));
     }
 
     @PostMapping("/logout-all")
-    @Operation(summary = "Logout all devices", description = "Revoke all refresh tokens for the current user.")
+    @Operation(summary = "Logout all devices", description = "Revoke all refresh tokens and all access tokens issued so far for the current user.")
     @SecurityRequirement(name = "bearerAuth")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Logged out from all devices")
     public ResponseEntity<ApiResponse<Void>> logoutAll(Authentication authentication) {
@@ -93,6 +90,27 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(null, "Logged out from all devices"));
     }
 
+    @GetMapping("/sessions")
+    @Operation(summary = "List active sessions", description = "Active (non-revoked, non-expired) logins of the current user. The session of the current refresh cookie is flagged as current.")
+    @SecurityRequirement(name = "bearerAuth")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Sessions returned")
+    public ResponseEntity<ApiResponse<List<SessionDto>>> listSessions(Authentication authentication,
+                                                                      HttpServletRequest request) {
+        User user = (User) authentication.getPrincipal();
+        List<SessionDto> sessions = authService.listActiveSessions(user, getRefreshTokenCookie(request));
+        return ResponseEntity.ok(ApiResponse.success(sessions, "Sessions retrieved"));
+    }
+
+    @DeleteMapping("/sessions/{id}")
+    @Operation(summary = "Revoke a session", description = "Revoke one refresh token (log out a single device).")
+    @SecurityRequirement(name = "bearerAuth")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Session revoked")
+    public ResponseEntity<ApiResponse<Void>> revokeSession(@PathVariable Long id, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        authService.revokeSession(user, id);
+        return ResponseEntity.ok(ApiResponse.success(null, "Session revoked"));
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Get current user", description = "Get user info from the current access token.")
     @SecurityRequirement(name = "bearerAuth")
@@ -119,4 +137,15 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(userInfo, "Thông tin người dùng được lấy thành công"));
     }
 
+    private String getRefreshTokenCookie(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("refreshToken".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
 }
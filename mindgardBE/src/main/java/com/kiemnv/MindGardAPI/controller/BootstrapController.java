@@ -0,0 +1,79 @@
+package com.kiemnv.MindGardAPI.controller;
+
+import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
+import com.kiemnv.MindGardAPI.dto.response.BootstrapSectionDto;
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.BootstrapService;
+import com.kiemnv.MindGardAPI.service.OnboardingService;
+import com.kiemnv.MindGardAPI.service.PomodoroService;
+import com.kiemnv.MindGardAPI.service.QuickLinkService;
+import com.kiemnv.MindGardAPI.service.SceneService;
+import com.kiemnv.MindGardAPI.service.SettingsService;
+import com.kiemnv.MindGardAPI.service.SoundService;
+import com.kiemnv.MindGardAPI.service.TodoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+@RequiredArgsConstructor
+@Tag(name = "Bootstrap", description = "All extension state in one call – FE: load on popup/new tab open")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+    private final SettingsService settingsService;
+    private final TodoService todoService;
+    private final QuickLinkService quickLinkService;
+    private final SceneService sceneService;
+    private final SoundService soundService;
+    private final OnboardingService onboardingService;
+    private final PomodoroService pomodoroService;
+
+    /**
+     * Sections carry the same JSON as /api/settings, /api/todos/all, /api/quicklinks/all,
+     * /api/scenes/all, /api/sounds/all, /api/onboarding and /api/stats/focus. Pass the etags the
+     * client already holds as known=section:etag (repeatable); matching sections come back with
+     * unchanged=true and no data.
+     */
+    @GetMapping
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get settings, todos, quick links, scenes, sounds, onboarding and focus stats in one payload")
+    public ResponseEntity<ApiResponse<Map<String, BootstrapSectionDto>>> get(@RequestParam(required = false) List<String> known,
+                                                                             Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        Map<String, Supplier<?>> loaders = new LinkedHashMap<>();
+        loaders.put("settings", () -> settingsService.getForUser(user));
+        loaders.put("todos", () -> todoService.listAllForUser(user).stream().map(TodoController::toDto).toList());
+        loaders.put("quickLinks", () -> QuickLinkController.toDtos(quickLinkService.listAll(user)));
+        loaders.put("scenes", () -> sceneService.listAll(user));
+        loaders.put("sounds", () -> soundService.listAll(user));
+        loaders.put("onboarding", () -> onboardingService.getForUser(user));
+        loaders.put("focusStats", () -> pomodoroService.getFocusStats(user));
+
+        Map<String, BootstrapSectionDto> sections = bootstrapService.gather(loaders, parseKnown(known));
+        return ResponseEntity.ok(ApiResponse.success(sections, "Bootstrap retrieved"));
+    }
+
+    private static Map<String, String> parseKnown(List<String> known) {
+        Map<String, String> etags = new HashMap<>();
+        if (known == null) return etags;
+        for (String entry : known) {
+            int sep = entry.indexOf(':');
+            if (sep > 0 && sep < entry.length() - 1) {
+                etags.put(entry.substring(0, sep).trim(), entry.substring(sep + 1).trim());
+            }
+        }
+        return etags;
+    }
+}
@@ -1,19 +1,32 @@
 package com.kiemnv.MindGardAPI.controller;
 
+import com.kiemnv.MindGardAPI.dto.response.ActivityFeedDto;
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
+import com.kiemnv.MindGardAPI.dto.response.FriendPresenceDto;
 import com.kiemnv.MindGardAPI.dto.response.FriendRequestDto;
+import com.kiemnv.MindGardAPI.dto.response.FriendSuggestionDto;
 import com.kiemnv.MindGardAPI.dto.response.FriendUserDto;
+import com.kiemnv.MindGardAPI.dto.response.RelationshipStatusDto;
 import com.kiemnv.MindGardAPI.dto.request.FriendInviteRequest;
+import com.kiemnv.MindGardAPI.dto.request.RelationshipBatchRequest;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.ActivityFeedService;
 import com.kiemnv.MindGardAPI.service.FriendService;
+import com.kiemnv.MindGardAPI.service.FriendSuggestionService;
+import com.kiemnv.MindGardAPI.service.PresenceService;
+import com.kiemnv.MindGardAPI.service.UserSearchIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -25,6 +38,10 @@ import java.util.Map;
 public class FriendsController {
 
     private final FriendService friendService;
+    private final FriendSuggestionService friendSuggestionService;
+    private final UserSearchIndex userSearchIndex;
+    private final PresenceService presenceService;
+    private final ActivityFeedService activityFeedService;
 
     @GetMapping
     @SecurityRequirement(name = "bearerAuth")
@@ -34,6 +51,59 @@ public class FriendsController {
         return ResponseEntity.ok(ApiResponse.success(friendService.friends(me), "Friends retrieved"));
     }
 
+    @GetMapping("/paged")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "List my friends (paged, most recent first, max 100 per page)")
+    public ResponseEntity<ApiResponse<Page<FriendUserDto>>> listFriendsPaged(Pageable pageable, Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(friendService.friends(me, pageable), "Friends retrieved"));
+    }
+
+    @GetMapping("/feed")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Friends activity feed, newest first (keyset paged by ?before=, size max 50)")
+    public ResponseEntity<ApiResponse<ActivityFeedDto>> feed(@RequestParam(required = false) Long before,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(activityFeedService.feed(me.getId(), before, size), "Activity feed"));
+    }
+
+    @GetMapping("/presence")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Friends who are focusing right now")
+    public ResponseEntity<ApiResponse<List<FriendPresenceDto>>> presence(Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(presenceService.friendsPresence(me.getId()), "Friends presence"));
+    }
+
+    @GetMapping(value = "/presence/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "SSE stream of friends presence: 'snapshot' event, then 'presence' deltas")
+    public SseEmitter presenceStream(Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return presenceService.subscribe(me.getId());
+    }
+
+    @GetMapping("/search")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Type-ahead user search by username or name prefix (limit max 20)")
+    public ResponseEntity<ApiResponse<List<FriendUserDto>>> search(@RequestParam String q,
+                                                                  @RequestParam(defaultValue = "10") int limit,
+                                                                  Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(userSearchIndex.search(q, limit, me.getId()), "Users found"));
+    }
+
+    @GetMapping("/suggestions")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "People you may know, ranked by mutual friends (limit max 50)")
+    public ResponseEntity<ApiResponse<List<FriendSuggestionDto>>> suggestions(@RequestParam(defaultValue = "10") int limit,
+                                                                              Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(friendSuggestionService.suggest(me.getId(), limit), "Friend suggestions"));
+    }
+
     @GetMapping("/requests/incoming")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Incoming friend requests")
@@ -42,6 +112,14 @@ public class FriendsController {
         return ResponseEntity.ok(ApiResponse.success(friendService.incoming(me), "Incoming requests"));
     }
 
+    @GetMapping("/requests/incoming/paged")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Incoming friend requests (paged, max 100 per page)")
+    public ResponseEntity<ApiResponse<Page<FriendRequestDto>>> incomingPaged(Pageable pageable, Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(friendService.incoming(me, pageable), "Incoming requests"));
+    }
+
     @GetMapping("/requests/outgoing")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Outgoing friend requests")
@@ -50,6 +128,14 @@ public class FriendsController {
         return ResponseEntity.ok(ApiResponse.success(friendService.outgoing(me), "Outgoing requests"));
     }
 
+    @GetMapping("/requests/outgoing/paged")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Outgoing friend requests (paged, max 100 per page)")
+    public ResponseEntity<ApiResponse<Page<FriendRequestDto>>> outgoingPaged(Pageable pageable, Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(friendService.outgoing(me, pageable), "Outgoing requests"));
+    }
+
     @PostMapping("/requests/{recipientId}")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Send friend request to recipientId")
@@ -107,5 +193,14 @@ public class FriendsController {
         String status = friendService.getRelationshipStatus(me.getId(), targetId);
         return ResponseEntity.ok(ApiResponse.success(Map.of("status", status), "Relationship status"));
     }
+
+    @PostMapping("/relationships")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get relationship status with up to 500 targets")
+    public ResponseEntity<ApiResponse<List<RelationshipStatusDto>>> relationships(@Valid @RequestBody RelationshipBatchRequest req,
+                                                                                  Authentication authentication) {
+        User me = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(friendService.getRelationshipStatuses(me.getId(), req.getTargetIds()), "Relationship statuses"));
+    }
 }
 
@@ -1,21 +1,30 @@
 package com.kiemnv.MindGardAPI.controller;
 
+import com.kiemnv.MindGardAPI.dto.request.TextPatchRequest;
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
+import com.kiemnv.MindGardAPI.dto.response.NoteSearchHitDto;
+import com.kiemnv.MindGardAPI.dto.response.NoteSummaryDto;
 import com.kiemnv.MindGardAPI.dto.response.QuickNoteDto;
+import com.kiemnv.MindGardAPI.dto.response.TextPatchResultDto;
 import com.kiemnv.MindGardAPI.entity.Note;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.ChangeVersionService;
 import com.kiemnv.MindGardAPI.service.NoteService;
 import com.kiemnv.MindGardAPI.service.SettingsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -26,6 +35,7 @@ public class NoteController {
 
     private final NoteService noteService;
     private final SettingsService settingsService;
+    private final ChangeVersionService changeVersionService;
 
     /** FE extension: GET quickNotes (key "quickNotes") */
     @GetMapping("/quick")
@@ -33,8 +43,8 @@ public class NoteController {
     @Operation(summary = "Get quick notes (FE: quickNotes)")
     public ResponseEntity<ApiResponse<QuickNoteDto>> getQuick(Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        String content = settingsService.getQuickNotes(user);
-        return ResponseEntity.ok(ApiResponse.success(QuickNoteDto.builder().content(content != null ? content : "").build(), "Quick notes retrieved"));
+        SettingsService.QuickNotes quick = settingsService.getQuickNotes(user);
+        return ResponseEntity.ok(ApiResponse.success(QuickNoteDto.builder().content(quick.content()).version(quick.version()).build(), "Quick notes retrieved"));
     }
 
     /** FE extension: PUT quickNotes. Body: { "content": "..." } */
@@ -48,19 +58,54 @@ public class NoteController {
             if (body.containsKey("content")) content = body.get("content") != null ? body.get("content") : "";
             else if (body.containsKey("quickNotes")) content = body.get("quickNotes") != null ? body.get("quickNotes") : "";
         }
-        settingsService.updateQuickNotes(user, content);
-        return ResponseEntity.ok(ApiResponse.success(QuickNoteDto.builder().content(content != null ? content : "").build(), "Quick notes updated"));
+        SettingsService.QuickNotes quick = settingsService.updateQuickNotes(user, content);
+        return ResponseEntity.ok(ApiResponse.success(QuickNoteDto.builder().content(quick.content()).version(quick.version()).build(), "Quick notes updated"));
+    }
+
+    /** Autosave: send only the changed spans against the version last read or written; 409 if stale. */
+    @PatchMapping("/quick")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Patch quick notes with ranged splices against a base version")
+    public ResponseEntity<ApiResponse<TextPatchResultDto>> patchQuick(@Valid @RequestBody TextPatchRequest patch, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        SettingsService.QuickNotes quick = settingsService.patchQuickNotes(user, patch);
+        return ResponseEntity.ok(ApiResponse.success(
+                TextPatchResultDto.builder().version(quick.version()).length(quick.content().length()).build(),
+                "Quick notes patched"));
     }
 
     @GetMapping
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "List user's notes")
-    public ResponseEntity<ApiResponse<Page<Note>>> list(Pageable pageable, Authentication authentication) {
+    public ResponseEntity<ApiResponse<Page<Note>>> list(Pageable pageable, Authentication authentication, WebRequest request) {
         User user = (User) authentication.getPrincipal();
+        String etag = changeVersionService.etag(user.getId(), SyncCollection.NOTES);
+        if (request.checkNotModified(etag)) return null; // 304, ETag set by checkNotModified
         Page<Note> page = noteService.list(user, pageable);
         return ResponseEntity.ok(ApiResponse.success(page, "Notes retrieved"));
     }
 
+    /** FE NotesModal list: title, pinned, updatedAt and a short preview; content via GET /{id}. */
+    @GetMapping("/summaries")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "List note summaries, pinned first then most recently updated (paged)")
+    public ResponseEntity<ApiResponse<Page<NoteSummaryDto>>> summaries(Pageable pageable, Authentication authentication, WebRequest request) {
+        User user = (User) authentication.getPrincipal();
+        String etag = changeVersionService.etag(user.getId(), SyncCollection.NOTES);
+        if (request.checkNotModified(etag)) return null; // 304, ETag set by checkNotModified
+        return ResponseEntity.ok(ApiResponse.success(noteService.summaries(user, pageable), "Note summaries retrieved"));
+    }
+
+    @GetMapping("/search")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Full-text search over my notes (words, \"phrases\", or, -exclude), best match first")
+    public ResponseEntity<ApiResponse<List<NoteSearchHitDto>>> search(@RequestParam String q,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(noteService.search(user, q, limit), "Notes found"));
+    }
+
     @PostMapping
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Create note")
@@ -88,6 +133,18 @@ public class NoteController {
         return ResponseEntity.ok(ApiResponse.success(n, "Note updated"));
     }
 
+    /** Autosave: send only the changed spans against the note's contentVersion; 409 if stale. */
+    @PatchMapping("/{id}/content")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Patch note content with ranged splices against a base version")
+    public ResponseEntity<ApiResponse<TextPatchResultDto>> patchContent(@PathVariable Long id, @Valid @RequestBody TextPatchRequest patch, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        Note n = noteService.patchContent(id, user, patch);
+        return ResponseEntity.ok(ApiResponse.success(
+                TextPatchResultDto.builder().version(n.getContentVersion()).length(n.getContent().length()).build(),
+                "Note content patched"));
+    }
+
     @DeleteMapping("/{id}")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Delete note")
@@ -1,5 +1,6 @@
 package com.kiemnv.MindGardAPI.controller;
 
+import com.kiemnv.MindGardAPI.dto.request.QuickLinkMoveRequest;
 import com.kiemnv.MindGardAPI.dto.request.QuickLinkRequest;
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
 import com.kiemnv.MindGardAPI.dto.response.QuickLinkDto;
@@ -16,8 +17,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/quicklinks")
@@ -27,23 +28,33 @@ public class QuickLinkController {
 
     private final QuickLinkService quickLinkService;
 
-    private static QuickLinkDto toDto(QuickLink q) {
+    static QuickLinkDto toDto(QuickLink q) {
         return QuickLinkDto.builder()
                 .id(q.getId())
                 .label(q.getTitle())
                 .url(q.getUrl())
                 .icon(q.getIcon())
-                .ordering(q.getOrdering())
+                .rank(q.getRankKey())
                 .build();
     }
 
+    /** Maps a complete, ordered list, filling in each link's position as {@code ordering}. */
+    static List<QuickLinkDto> toDtos(List<QuickLink> ordered) {
+        List<QuickLinkDto> dtos = new ArrayList<>(ordered.size());
+        for (QuickLink q : ordered) {
+            QuickLinkDto dto = toDto(q);
+            dto.setOrdering(dtos.size());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
     private static QuickLink fromRequest(QuickLinkRequest r) {
         QuickLink q = new QuickLink();
         if (r != null) {
             if (r.getLabel() != null) q.setTitle(r.getLabel());
             if (r.getUrl() != null) q.setUrl(r.getUrl());
             if (r.getIcon() != null) q.setIcon(r.getIcon());
-            if (r.getOrdering() != null) q.setOrdering(r.getOrdering());
         }
         return q;
     }
@@ -63,7 +74,7 @@ public class QuickLinkController {
     public ResponseEntity<ApiResponse<List<QuickLinkDto>>> listAll(Authentication authentication) {
         User user = (User) authentication.getPrincipal();
         List<QuickLink> list = quickLinkService.listAll(user);
-        return ResponseEntity.ok(ApiResponse.success(list.stream().map(QuickLinkController::toDto).collect(Collectors.toList()), "QuickLinks retrieved"));
+        return ResponseEntity.ok(ApiResponse.success(toDtos(list), "QuickLinks retrieved"));
     }
 
     @PostMapping
@@ -73,7 +84,7 @@ public class QuickLinkController {
         User user = (User) authentication.getPrincipal();
         QuickLink q = fromRequest(req);
         if (q.getUrl() != null && !q.getUrl().startsWith("http")) q.setUrl("https://" + q.getUrl());
-        QuickLink created = quickLinkService.create(user, q);
+        QuickLink created = quickLinkService.create(user, q, req != null ? req.getOrdering() : null);
         return ResponseEntity.ok(ApiResponse.success(toDto(created), "QuickLink created"));
     }
 
@@ -83,10 +94,19 @@ public class QuickLinkController {
     public ResponseEntity<ApiResponse<QuickLinkDto>> update(@PathVariable Long id, @RequestBody QuickLinkRequest req, Authentication authentication) {
         User user = (User) authentication.getPrincipal();
         QuickLink update = fromRequest(req);
-        QuickLink q = quickLinkService.update(id, user, update);
+        QuickLink q = quickLinkService.update(id, user, update, req != null ? req.getOrdering() : null);
         return ResponseEntity.ok(ApiResponse.success(toDto(q), "QuickLink updated"));
     }
 
+    @PutMapping("/{id}/move")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Move quicklink directly after afterId (or before beforeId); rewrites only this link")
+    public ResponseEntity<ApiResponse<QuickLinkDto>> move(@PathVariable Long id, @RequestBody QuickLinkMoveRequest req, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        QuickLink q = quickLinkService.move(id, user, req.getAfterId(), req.getBeforeId());
+        return ResponseEntity.ok(ApiResponse.success(toDto(q), "QuickLink moved"));
+    }
+
     @DeleteMapping("/{id}")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Delete quicklink")
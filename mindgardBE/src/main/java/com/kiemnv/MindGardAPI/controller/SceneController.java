@@ -2,7 +2,9 @@ package com.kiemnv.MindGardAPI.controller;
 
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
 import com.kiemnv.MindGardAPI.entity.Scene;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.ChangeVersionService;
 import com.kiemnv.MindGardAPI.service.SceneService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,6 +26,7 @@ import java.util.List;
 public class SceneController {
 
     private final SceneService sceneService;
+    private final ChangeVersionService changeVersionService;
 
     @GetMapping
     @SecurityRequirement(name = "bearerAuth")
@@ -36,9 +40,11 @@ public class SceneController {
     @GetMapping("/all")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "List all scenes (user + defaults)")
-    public ResponseEntity<ApiResponse<List<Scene>>> listAll(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<Scene>>> listAll(Authentication authentication, WebRequest request) {
         User user = (User) authentication.getPrincipal();
-        List<Scene> list = sceneService.listAll(user);
+        ChangeVersionService.Versions versions = changeVersionService.versions(user.getId(), SyncCollection.SCENES);
+        if (request.checkNotModified(versions.etag())) return null; // 304, ETag set by checkNotModified
+        List<Scene> list = sceneService.listAll(user, versions.shared());
         return ResponseEntity.ok(ApiResponse.success(list, "Scenes retrieved"));
     }
 
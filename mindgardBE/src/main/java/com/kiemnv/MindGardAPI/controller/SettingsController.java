@@ -2,7 +2,9 @@ package com.kiemnv.MindGardAPI.controller;
 
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
 import com.kiemnv.MindGardAPI.entity.Settings;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.ChangeVersionService;
 import com.kiemnv.MindGardAPI.service.SettingsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/settings")
@@ -19,13 +22,16 @@ import org.springframework.web.bind.annotation.*;
 public class SettingsController {
 
     private final SettingsService settingsService;
+    private final ChangeVersionService changeVersionService;
 
     @GetMapping
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Get my settings")
-    public ResponseEntity<ApiResponse<Settings>> get(Authentication authentication) {
+    public ResponseEntity<ApiResponse<Settings>> get(Authentication authentication, WebRequest request) {
         User user = (User) authentication.getPrincipal();
-        Settings s = settingsService.getForUser(user);
+        ChangeVersionService.Versions versions = changeVersionService.versions(user.getId(), SyncCollection.SETTINGS);
+        if (request.checkNotModified(versions.etag())) return null; // 304, ETag set by checkNotModified
+        Settings s = settingsService.getForUser(user, versions.own());
         return ResponseEntity.ok(ApiResponse.success(s, "Settings retrieved"));
     }
 
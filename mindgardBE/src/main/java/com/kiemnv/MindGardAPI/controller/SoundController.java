@@ -2,7 +2,9 @@ package com.kiemnv.MindGardAPI.controller;
 
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
 import com.kiemnv.MindGardAPI.entity.Sound;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.ChangeVersionService;
 import com.kiemnv.MindGardAPI.service.SoundService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,6 +26,7 @@ import java.util.List;
 public class SoundController {
 
     private final SoundService soundService;
+    private final ChangeVersionService changeVersionService;
 
     @GetMapping("/music")
     @Operation(summary = "List curated music (Hardcoded)")
@@ -42,9 +46,11 @@ public class SoundController {
     @GetMapping("/all")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "List all sounds (user + builtins)")
-    public ResponseEntity<ApiResponse<List<Sound>>> listAll(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<Sound>>> listAll(Authentication authentication, WebRequest request) {
         User user = (User) authentication.getPrincipal();
-        List<Sound> list = soundService.listAll(user);
+        ChangeVersionService.Versions versions = changeVersionService.versions(user.getId(), SyncCollection.SOUNDS);
+        if (request.checkNotModified(versions.etag())) return null; // 304, ETag set by checkNotModified
+        List<Sound> list = soundService.listAll(user, versions.shared());
         return ResponseEntity.ok(ApiResponse.success(list, "Sounds retrieved"));
     }
 
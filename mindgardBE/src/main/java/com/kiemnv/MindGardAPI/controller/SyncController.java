@@ -0,0 +1,54 @@
+package com.kiemnv.MindGardAPI.controller;
+
+import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
+import com.kiemnv.MindGardAPI.dto.response.SyncDto;
+import com.kiemnv.MindGardAPI.dto.response.SyncTombstoneDto;
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync of todos, notes, quick links, scenes, sounds and settings")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Returns rows written after {@code since} plus tombstones for rows deleted after it. Start with
+     * since=0 and pass back the returned version; when full=true, replace local state with the lists.
+     */
+    @GetMapping
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get changes since a sync version")
+    public ResponseEntity<ApiResponse<SyncDto>> changes(@RequestParam(defaultValue = "0") long since,
+                                                        Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        SyncService.Changes c = syncService.changesSince(user, since);
+        SyncDto dto = SyncDto.builder()
+                .version(c.version())
+                .full(c.full())
+                .todos(c.todos().stream().map(TodoController::toDto).toList())
+                .notes(c.notes())
+                .quickLinks(c.quickLinks().stream().map(QuickLinkController::toDto).toList())
+                .scenes(c.scenes())
+                .sounds(c.sounds())
+                .settings(c.settings())
+                .deleted(c.deleted().stream()
+                        .map(t -> SyncTombstoneDto.builder()
+                                .collection(t.getCollection())
+                                .id(t.getEntityId())
+                                .version(t.getChangeVersion())
+                                .build())
+                        .toList())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(dto, "Changes retrieved"));
+    }
+}
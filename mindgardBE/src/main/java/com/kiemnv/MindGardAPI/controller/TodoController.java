@@ -1,20 +1,29 @@
 package com.kiemnv.MindGardAPI.controller;
 
+import com.kiemnv.MindGardAPI.dto.request.TodoBulkRequest;
+import com.kiemnv.MindGardAPI.dto.request.TodoQueryRequest;
 import com.kiemnv.MindGardAPI.dto.request.TodoRequest;
 import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
+import com.kiemnv.MindGardAPI.dto.response.TodoBulkResultDto;
 import com.kiemnv.MindGardAPI.dto.response.TodoDto;
+import com.kiemnv.MindGardAPI.dto.response.TodoPageDto;
+import com.kiemnv.MindGardAPI.dto.response.TodoTagCountDto;
 import com.kiemnv.MindGardAPI.entity.Todo;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.service.ChangeVersionService;
 import com.kiemnv.MindGardAPI.service.TodoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,12 +35,16 @@ import java.util.stream.Collectors;
 public class TodoController {
 
     private final TodoService todoService;
+    private final ChangeVersionService changeVersionService;
 
-    private static TodoDto toDto(Todo t) {
+    static TodoDto toDto(Todo t) {
         return TodoDto.builder()
                 .id(t.getId())
                 .text(t.getTitle())
                 .done(t.isCompleted())
+                .priority(t.getPriority())
+                .dueAt(t.getDueAt())
+                .tags(t.getTags())
                 .build();
     }
 
@@ -48,12 +61,35 @@ public class TodoController {
     @GetMapping("/all")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "List all todos for extension sync")
-    public ResponseEntity<ApiResponse<List<TodoDto>>> listAll(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<TodoDto>>> listAll(Authentication authentication, WebRequest request) {
         User user = (User) authentication.getPrincipal();
+        String etag = changeVersionService.etag(user.getId(), SyncCollection.TODOS);
+        if (request.checkNotModified(etag)) return null; // 304, ETag set by checkNotModified
         List<Todo> list = todoService.listAllForUser(user);
         return ResponseEntity.ok(ApiResponse.success(list.stream().map(TodoController::toDto).collect(Collectors.toList()), "Todos retrieved"));
     }
 
+    /**
+     * Filter by completed, overdue, dueBefore / dueAfter (ISO date-time), minPriority and tags
+     * (tagMode ALL or ANY); sort by CREATED, DUE or PRIORITY; page with ?cursor= from the previous
+     * page (size max 100).
+     */
+    @GetMapping("/query")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Query todos with filters, sort and keyset pagination")
+    public ResponseEntity<ApiResponse<TodoPageDto>> query(TodoQueryRequest query, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(todoService.query(user, query), "Todos retrieved"));
+    }
+
+    @GetMapping("/tags")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "List my todo tags with the number of todos per tag")
+    public ResponseEntity<ApiResponse<List<TodoTagCountDto>>> tags(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.success(todoService.tagCounts(user), "Tags retrieved"));
+    }
+
     @PostMapping
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Create todo (FE: text, done)")
@@ -62,10 +98,30 @@ public class TodoController {
         Todo t = new Todo();
         t.setTitle(req.getText() != null ? req.getText() : "");
         t.setCompleted(Boolean.TRUE.equals(req.getDone()));
+        if (req.getTags() != null) t.setTags(String.join(",", req.getTags()));
         Todo created = todoService.create(user, t);
         return ResponseEntity.ok(ApiResponse.success(toDto(created), "Todo created"));
     }
 
+    /** Batch of create / update / complete / delete in one transaction, with an outcome per operation. */
+    @PostMapping("/bulk")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Apply several todo operations at once")
+    public ResponseEntity<ApiResponse<List<TodoBulkResultDto>>> bulk(@Valid @RequestBody TodoBulkRequest req, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        List<TodoBulkResultDto> results = todoService.bulk(user, req.getOperations()).stream()
+                .map(o -> TodoBulkResultDto.builder()
+                        .index(o.index())
+                        .op(o.operation().getOp())
+                        .id(o.todo() != null ? o.todo().getId() : o.operation().getId())
+                        .status(o.status())
+                        .error(o.error())
+                        .todo(o.todo() != null ? toDto(o.todo()) : null)
+                        .build())
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success(results, "Bulk operations applied"));
+    }
+
     @GetMapping("/{id}")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Get todo by id")
@@ -83,6 +139,7 @@ public class TodoController {
         Todo update = new Todo();
         if (req.getText() != null) update.setTitle(req.getText());
         if (req.getDone() != null) update.setCompleted(req.getDone());
+        if (req.getTags() != null) update.setTags(String.join(",", req.getTags()));
         Todo t = todoService.update(id, user, update);
         return ResponseEntity.ok(ApiResponse.success(toDto(t), "Todo updated"));
     }
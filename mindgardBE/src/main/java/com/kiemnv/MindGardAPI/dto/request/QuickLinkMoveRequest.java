@@ -0,0 +1,13 @@
+package com.kiemnv.MindGardAPI.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuickLinkMoveRequest {
+    private Long afterId;   // place directly after this link
+    private Long beforeId;  // or, when afterId is absent, directly before this one
+}
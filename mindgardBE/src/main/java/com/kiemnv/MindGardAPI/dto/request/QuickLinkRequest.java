@@ -11,5 +11,5 @@ public class QuickLinkRequest {
     private String label;  // FE: label (map to entity.title)
     private String url;
     private String icon;   // FE: icon, e.g. "🔗"
-    private Integer ordering;
+    private Integer ordering; // target position (0-based); prefer PUT /{id}/move for reordering
 }
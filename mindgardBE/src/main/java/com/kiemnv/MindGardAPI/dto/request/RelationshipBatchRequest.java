@@ -0,0 +1,14 @@
+package com.kiemnv.MindGardAPI.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RelationshipBatchRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> targetIds;
+}
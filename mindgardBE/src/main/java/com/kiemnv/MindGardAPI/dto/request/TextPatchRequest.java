@@ -0,0 +1,42 @@
+package com.kiemnv.MindGardAPI.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ranged splices against the text at {@code baseVersion}. Offsets are UTF-16 code units (JS string
+ * indices) into the base text; edits must be in ascending order and must not overlap.
+ */
+@Data
+public class TextPatchRequest {
+
+    @NotNull
+    @Min(0)
+    private Long baseVersion;
+
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<Edit> edits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Edit {
+        @NotNull
+        @Min(0)
+        private Integer start; // inclusive
+        @NotNull
+        @Min(0)
+        private Integer end;   // exclusive; start == end is a pure insert
+        private String text;   // replacement; null or "" is a pure delete
+    }
+}
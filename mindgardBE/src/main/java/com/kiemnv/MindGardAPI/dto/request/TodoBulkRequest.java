@@ -0,0 +1,34 @@
+package com.kiemnv.MindGardAPI.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class TodoBulkRequest {
+
+    public enum Op { CREATE, UPDATE, DELETE, COMPLETE }
+
+    @NotEmpty
+    @Size(max = 200)
+    @Valid
+    private List<Operation> operations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        @NotNull
+        private Op op;
+        private Long id;      // UPDATE, DELETE, COMPLETE
+        private String text;  // CREATE, UPDATE
+        private Boolean done; // CREATE, UPDATE; COMPLETE defaults to true
+        private List<String> tags; // CREATE, UPDATE
+    }
+}
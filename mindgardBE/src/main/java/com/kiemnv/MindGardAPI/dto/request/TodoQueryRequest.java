@@ -0,0 +1,30 @@
+package com.kiemnv.MindGardAPI.dto.request;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Query parameters of GET /api/todos/query; every filter is optional. */
+@Data
+public class TodoQueryRequest {
+
+    public enum Sort { CREATED, DUE, PRIORITY }
+
+    public enum TagMode { ALL, ANY }
+
+    private Boolean completed;
+    private Boolean overdue;      // not completed and due before now
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueBefore;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueAfter;
+    private Integer minPriority;
+    private String tag;
+    private List<String> tags;        // combined with tag
+    private TagMode tagMode = TagMode.ALL;
+    private Sort sort = Sort.CREATED; // CREATED: newest first; DUE: soonest first; PRIORITY: highest first
+    private String cursor;            // nextCursor of the previous page
+    private Integer size;
+}
@@ -4,10 +4,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TodoRequest {
     private String text;  // FE: text
     private Boolean done; // FE: done
+    private List<String> tags; // optional; replaces the todo's tags when present
 }
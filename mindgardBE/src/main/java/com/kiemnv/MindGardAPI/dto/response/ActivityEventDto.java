@@ -0,0 +1,20 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEventDto {
+    private Long id;
+    private String type;   // SESSION_COMPLETED / LEVEL_UP / STREAK_MILESTONE
+    private Long value;    // minutes / new level / streak days
+    private LocalDateTime createdAt;
+    private FriendUserDto actor;
+}
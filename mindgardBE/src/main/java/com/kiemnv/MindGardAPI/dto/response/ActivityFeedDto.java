@@ -0,0 +1,17 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFeedDto {
+    private List<ActivityEventDto> items;
+    private Long nextBefore; // pass as ?before= for the next page; null when there is no more
+}
@@ -0,0 +1,19 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tools.jackson.databind.util.RawValue;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapSectionDto {
+    private String etag;
+    private boolean unchanged; // true when the client's etag matched; data is then omitted
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RawValue data; // section JSON, serialized once while computing the etag
+}
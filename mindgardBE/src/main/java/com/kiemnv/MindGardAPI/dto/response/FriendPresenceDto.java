@@ -0,0 +1,20 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FriendPresenceDto {
+    private Long userId;
+    private String state; // FOCUSING / IDLE
+    private LocalDateTime startedAt;
+    private LocalDateTime expectedEndAt;
+    private String task;
+}
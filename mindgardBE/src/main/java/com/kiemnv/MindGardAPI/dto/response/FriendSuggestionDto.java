@@ -0,0 +1,15 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FriendSuggestionDto {
+    private FriendUserDto user;
+    private int mutualFriends;
+}
@@ -0,0 +1,24 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSearchHitDto {
+    private Long id;
+    private String title;
+    private boolean pinned;
+    private LocalDateTime updatedAt;
+    private double rank;
+    private List<int[]> titleHighlights;   // [start, end) character ranges of matched terms in title
+    private String snippet;                // plain-text excerpt of content around the matches
+    private List<int[]> snippetHighlights; // [start, end) ranges in snippet
+}
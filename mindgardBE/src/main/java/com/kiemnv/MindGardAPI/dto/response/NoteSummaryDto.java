@@ -0,0 +1,20 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSummaryDto {
+    private Long id;
+    private String title;
+    private Boolean pinned;
+    private LocalDateTime updatedAt;
+    private String preview; // first ~160 characters of content, whitespace collapsed
+}
@@ -14,5 +14,6 @@ public class QuickLinkDto {
     private String label;  // FE: label (from entity.title)
     private String url;
     private String icon;   // FE: icon
-    private Integer ordering;
+    private Integer ordering; // position in the full ordered list; not set on paged or sync results
+    private String rank;      // sort key: order links by rank (plain string comparison), then id
 }
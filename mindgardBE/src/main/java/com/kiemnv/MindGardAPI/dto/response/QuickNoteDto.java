@@ -14,4 +14,5 @@ import lombok.Builder;
 @AllArgsConstructor
 public class QuickNoteDto {
     private String content;
+    private Long version; // base version for PATCH /api/notes/quick
 }
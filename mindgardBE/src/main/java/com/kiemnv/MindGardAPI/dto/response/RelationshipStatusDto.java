@@ -0,0 +1,16 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipStatusDto {
+    private Long targetId;
+    private String status;   // SELF, ACCEPTED, SENT, RECEIVED, NONE
+    private Long requestId;  // pending request id for SENT / RECEIVED
+}
@@ -0,0 +1,24 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One active login (non-revoked, non-expired refresh token) of the current user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionDto {
+    private Long id;
+    private String deviceInfo;
+    private String ipAddress;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private boolean current; // true for the session whose refresh cookie made this request
+}
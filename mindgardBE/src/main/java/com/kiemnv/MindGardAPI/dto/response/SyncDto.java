@@ -0,0 +1,28 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import com.kiemnv.MindGardAPI.entity.Note;
+import com.kiemnv.MindGardAPI.entity.Scene;
+import com.kiemnv.MindGardAPI.entity.Settings;
+import com.kiemnv.MindGardAPI.entity.Sound;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDto {
+    private long version;  // pass back as ?since= on the next call
+    private boolean full;  // true: lists are a complete snapshot, replace local state
+    private List<TodoDto> todos;
+    private List<Note> notes;
+    private List<QuickLinkDto> quickLinks;
+    private List<Scene> scenes;
+    private List<Sound> sounds;
+    private Settings settings; // null when unchanged
+    private List<SyncTombstoneDto> deleted;
+}
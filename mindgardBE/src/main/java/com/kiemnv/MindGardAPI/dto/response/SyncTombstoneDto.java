@@ -0,0 +1,17 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneDto {
+    private SyncCollection collection;
+    private Long id;
+    private Long version;
+}
@@ -0,0 +1,15 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextPatchResultDto {
+    private long version; // base for the next patch
+    private int length;   // length of the patched text, for a cheap client-side sanity check
+}
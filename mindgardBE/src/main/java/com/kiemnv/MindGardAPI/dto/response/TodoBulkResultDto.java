@@ -0,0 +1,20 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import com.kiemnv.MindGardAPI.dto.request.TodoBulkRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkResultDto {
+    private int index;              // position in the request's operations list
+    private TodoBulkRequest.Op op;
+    private Long id;
+    private String status;          // OK / NOT_FOUND / INVALID
+    private String error;
+    private TodoDto todo;           // resulting state for CREATE / UPDATE / COMPLETE
+}
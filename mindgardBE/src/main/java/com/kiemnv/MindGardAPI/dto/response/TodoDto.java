@@ -5,6 +5,8 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -13,4 +15,7 @@ public class TodoDto {
     private Long id;
     private String text;  // FE: text (map from entity.title)
     private Boolean done; // FE: done (map from entity.completed)
+    private Integer priority;
+    private LocalDateTime dueAt;
+    private String tags;
 }
@@ -0,0 +1,17 @@
+package com.kiemnv.MindGardAPI.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageDto {
+    private List<TodoDto> items;
+    private String nextCursor; // pass as ?cursor= with the same filters and sort; null on the last page
+}
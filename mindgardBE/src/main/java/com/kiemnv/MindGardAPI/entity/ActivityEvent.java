@@ -0,0 +1,46 @@
+package com.kiemnv.MindGardAPI.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Something a user did that their friends see in the activity feed. The table is the durable
+ * tail of the feed; ActivityFeedService keeps the recent part of each reader's timeline in memory.
+ */
+@Entity
+@Table(
+        name = "activity_events",
+        indexes = {
+                @Index(name = "idx_activity_events_user_id", columnList = "user_id, id"),
+                @Index(name = "idx_activity_events_created_at", columnList = "created_at")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEvent {
+
+    public enum Type { SESSION_COMPLETED, LEVEL_UP, STREAK_MILESTONE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @Column(name = "event_value")
+    private Long value; // minutes focused / new level / streak days
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,35 @@
+package com.kiemnv.MindGardAPI.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * The sync version of the last write to one of a user's collections, used as the collection's
+ * ETag. userId 0 holds the shared rows (default scenes, built-in sounds) that every user's
+ * listing includes.
+ */
+@Entity
+@Table(
+        name = "collection_versions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_collection_versions_user_collection", columnNames = {"user_id", "collection"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncCollection collection;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_friend_req_requester", columnList = "requester_id"),
                 @Index(name = "idx_friend_req_recipient", columnList = "recipient_id"),
-                @Index(name = "idx_friend_req_status", columnList = "status")
+                @Index(name = "idx_friend_req_status", columnList = "status"),
+                @Index(name = "idx_friend_req_recipient_status_created", columnList = "recipient_id, status, created_at"),
+                @Index(name = "idx_friend_req_requester_status_created", columnList = "requester_id, status, created_at")
         }
 )
 @Data
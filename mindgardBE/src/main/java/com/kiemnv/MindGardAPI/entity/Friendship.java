@@ -0,0 +1,43 @@
+package com.kiemnv.MindGardAPI.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per accepted friendship, stored undirected: user_low is always the smaller user id.
+ * Kept in step with FriendRequest status changes by FriendService.
+ */
+@Entity
+@Table(
+        name = "friendships",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_friendships_pair", columnNames = {"user_low", "user_high"})
+        },
+        indexes = {
+                @Index(name = "idx_friendships_high_low", columnList = "user_high, user_low")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Friendship {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_low", nullable = false)
+    private User userLow;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_high", nullable = false)
+    private User userHigh;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime since = LocalDateTime.now();
+}
@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notes")
+@Table(
+        name = "notes",
+        indexes = {
+                @Index(name = "idx_notes_user_version", columnList = "user_id, change_version"),
+                @Index(name = "idx_notes_user_pinned_updated", columnList = "user_id, pinned, updated_at, id")
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,6 +32,12 @@ public class Note {
     @Column(columnDefinition = "text")
     private String content;
 
+    @Column(length = 200)
+    private String preview; // derived from content by NoteService; lets listings skip content
+
+    @Column(name = "content_version")
+    private Long contentVersion; // bumped on every content write; base version for content patches
+
     @Builder.Default
     private boolean pinned = false;
 
@@ -36,4 +48,7 @@ public class Note {
     @Column(name = "updated_at")
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "change_version")
+    private Long changeVersion; // per-user sync version of the last write
 }
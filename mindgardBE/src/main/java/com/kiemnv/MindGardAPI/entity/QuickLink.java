@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "quicklinks")
+@Table(
+        name = "quicklinks",
+        indexes = {
+                @Index(name = "idx_quicklinks_user_version", columnList = "user_id, change_version"),
+                @Index(name = "idx_quicklinks_user_rank", columnList = "user_id, rank_key")
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,9 +33,14 @@ public class QuickLink {
 
     private String icon;   // FE: icon e.g. "🔗"
 
-    private Integer ordering;
+    // fractional rank (see RankKeys); "C" collation so the database sorts keys like String.compareTo
+    @Column(name = "rank_key", columnDefinition = "varchar(64) COLLATE \"C\"")
+    private String rankKey;
 
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "change_version")
+    private Long changeVersion; // per-user sync version of the last write
 }
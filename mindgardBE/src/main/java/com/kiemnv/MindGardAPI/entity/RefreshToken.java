@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_token_user_revoked", columnList = "user_id, revoked"),
+                @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,8 +23,9 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 500)
-    private String token;
+    // SHA-256 hex of the refresh JWT; the raw token is never stored
+    @Column(name = "token_hash", unique = true, length = 64)
+    private String tokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
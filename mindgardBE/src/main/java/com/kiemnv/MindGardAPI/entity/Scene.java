@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "scenes")
+@Table(
+        name = "scenes",
+        indexes = @Index(name = "idx_scenes_user_version", columnList = "user_id, change_version")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -32,4 +35,7 @@ public class Scene {
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "change_version")
+    private Long changeVersion; // per-user sync version of the last write
 }
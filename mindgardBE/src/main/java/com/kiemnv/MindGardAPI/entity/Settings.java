@@ -2,11 +2,13 @@ package com.kiemnv.MindGardAPI.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "settings")
+@DynamicUpdate // updates write only changed columns, so a theme change doesn't rewrite quickNotes
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,6 +41,8 @@ public class Settings {
     private String background;     // url or "auto" | ""
     @Column(columnDefinition = "text")
     private String quickNotes;     // FE: quickNotes single text
+    @Column(name = "quick_notes_version")
+    private Long quickNotesVersion; // bumped on every quickNotes write; base version for patches
     @Column(columnDefinition = "text")
     private String blockedDomains; // multiline text
     @Column(columnDefinition = "text")
@@ -51,4 +55,7 @@ public class Settings {
     @Column(name = "updated_at")
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "change_version")
+    private Long changeVersion; // per-user sync version of the last write
 }
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sounds")
+@Table(
+        name = "sounds",
+        indexes = @Index(name = "idx_sounds_user_version", columnList = "user_id, change_version")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,4 +33,7 @@ public class Sound {
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "change_version")
+    private Long changeVersion; // per-user sync version of the last write
 }
@@ -0,0 +1,6 @@
+package com.kiemnv.MindGardAPI.entity;
+
+/** Per-user collections covered by GET /api/sync. */
+public enum SyncCollection {
+    TODOS, NOTES, QUICK_LINKS, SCENES, SOUNDS, SETTINGS
+}
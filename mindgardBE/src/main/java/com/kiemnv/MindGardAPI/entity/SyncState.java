@@ -0,0 +1,30 @@
+package com.kiemnv.MindGardAPI.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A user's change counter for delta sync. Every write to a synced collection takes the next
+ * version from here (see ChangeVersionService); prunedThrough is the highest version whose
+ * tombstones have been deleted, so a client behind it has to take a full snapshot.
+ */
+@Entity
+@Table(name = "sync_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long version = 0L;
+
+    @Column(name = "pruned_through", nullable = false)
+    @Builder.Default
+    private Long prunedThrough = 0L;
+}
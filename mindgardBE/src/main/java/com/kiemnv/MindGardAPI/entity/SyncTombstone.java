@@ -0,0 +1,44 @@
+package com.kiemnv.MindGardAPI.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Records a deleted row so delta sync can tell clients to drop it. */
+@Entity
+@Table(
+        name = "sync_tombstones",
+        indexes = {
+                @Index(name = "idx_sync_tombstones_user_version", columnList = "user_id, change_version"),
+                @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncCollection collection;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime deletedAt = LocalDateTime.now();
+}
@@ -6,7 +6,15 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todos")
+@Table(
+        name = "todos",
+        indexes = {
+                @Index(name = "idx_todos_user_version", columnList = "user_id, change_version"),
+                @Index(name = "idx_todos_user_id", columnList = "user_id, id"),
+                @Index(name = "idx_todos_user_due", columnList = "user_id, due_at, id")
+                // (user_id, priority DESC NULLS LAST, id DESC) is created by TodoQueryIndexMigration
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -44,4 +52,7 @@ public class Todo {
     @Column(name = "updated_at")
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "change_version")
+    private Long changeVersion; // per-user sync version of the last write
 }
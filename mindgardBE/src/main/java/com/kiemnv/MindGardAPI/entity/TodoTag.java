@@ -0,0 +1,36 @@
+package com.kiemnv.MindGardAPI.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One normalized tag of a todo. Todo.tags keeps the comma-joined list for display; this table
+ * is what tag listing and filtering run on, via the (user_id, tag, todo_id) index.
+ */
+@Entity
+@Table(
+        name = "todo_tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_todo_tags_user_tag_todo", columnNames = {"user_id", "tag", "todo_id"}),
+        indexes = @Index(name = "idx_todo_tags_todo_id", columnList = "todo_id")
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "todo_id", nullable = false)
+    private Todo todo;
+
+    @Column(nullable = false, length = 50)
+    private String tag;
+}
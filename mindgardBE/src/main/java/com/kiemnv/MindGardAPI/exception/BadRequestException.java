@@ -0,0 +1,8 @@
+package com.kiemnv.MindGardAPI.exception;
+
+/** The request is well-formed JSON but its values can't be applied (bad cursor, range, anchor...). */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kiemnv.MindGardAPI.exception;
+
+/** A patch was based on a version of the text that is no longer current. */
+public class EditConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public EditConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kiemnv.MindGardAPI.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiemnv.MindGardAPI.dto.response.ApiResponse;
+import com.kiemnv.MindGardAPI.service.AuthService;
+import com.kiemnv.MindGardAPI.service.RateLimiterService;
+import com.kiemnv.MindGardAPI.service.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-IP token-bucket throttle for the routes configured under app.security.rate-limit.routes.
+ * Runs before authentication so rejected requests never reach BCrypt.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiterService rateLimiterService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiterService.isLimited(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String route = request.getRequestURI();
+        String ip = AuthService.getClientIpAddress(request);
+        TokenBucketRateLimiter.Decision decision = rateLimiterService.tryAcquireForIp(route, ip);
+
+        if (decision != null) {
+            rateLimiterService.writeHeaders(response, decision);
+            if (!decision.allowed()) {
+                log.warn("Rate limit hit for IP {} on {}", ip, route);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.resetSeconds()));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(),
+                        ApiResponse.error("Too many requests, please retry later", HttpStatus.TOO_MANY_REQUESTS.value()));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,7 +1,9 @@
 package com.kiemnv.MindGardAPI.filter;
 
+import com.kiemnv.MindGardAPI.service.AccessTokenRevocationService;
 import com.kiemnv.MindGardAPI.service.JwtService;
 import com.kiemnv.MindGardAPI.service.UserService;
+import com.nimbusds.jwt.JWTClaimsSet;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +27,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final AccessTokenRevocationService accessTokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -34,8 +37,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt, "access")) {
-                String username = jwtService.getUsernameFromToken(jwt);
+            JWTClaimsSet claims = StringUtils.hasText(jwt) ? jwtService.verifyAndGetClaims(jwt, "access") : null;
+
+            if (claims != null && !accessTokenRevocationService.isRevoked(claims)) {
+                String username = claims.getSubject();
                 UserDetails userDetails = userService.loadUserByUsername(username);
 
                 if (userDetails != null) {
@@ -0,0 +1,61 @@
+package com.kiemnv.MindGardAPI.repository;
+
+import com.kiemnv.MindGardAPI.entity.ActivityEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityEventRepository extends JpaRepository<ActivityEvent, Long> {
+
+    /** An event plus its author's card. */
+    interface ActivityEventView {
+        Long getId();
+        ActivityEvent.Type getType();
+        Long getValue();
+        LocalDateTime getCreatedAt();
+        Long getUserId();
+        String getUsername();
+        String getFirstName();
+        String getLastName();
+        String getAvatarUrl();
+        Integer getLevel();
+    }
+
+    /** Newest first, keyset-paged on id; pass Long.MAX_VALUE for the first page. */
+    @Query("""
+            SELECT e.id AS id, e.type AS type, e.value AS value, e.createdAt AS createdAt,
+                   u.id AS userId, u.username AS username, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.level AS level
+            FROM ActivityEvent e JOIN e.user u
+            WHERE u.id IN :userIds AND e.id < :beforeId
+            ORDER BY e.id DESC
+            """)
+    List<ActivityEventView> findRecentByUsers(@Param("userIds") Collection<Long> userIds,
+                                              @Param("beforeId") Long beforeId,
+                                              Pageable pageable);
+
+    /**
+     * Deletes at most {@code batchSize} events created before the cutoff, skipping rows locked by
+     * another transaction, so each call is one short transaction.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM activity_events WHERE id IN (
+                SELECT id FROM activity_events
+                WHERE created_at < :cutoff
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
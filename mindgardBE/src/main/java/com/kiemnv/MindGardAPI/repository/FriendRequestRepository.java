@@ -1,18 +1,36 @@
 package com.kiemnv.MindGardAPI.repository;
 
 import com.kiemnv.MindGardAPI.entity.FriendRequest;
-import com.kiemnv.MindGardAPI.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FriendRequestRepository extends JpaRepository<FriendRequest, Long> {
 
+    /** A request plus the card of the user on the other side of it. */
+    interface RequestCardView {
+        Long getId();
+        FriendRequest.Status getStatus();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getRespondedAt();
+        Long getUserId();
+        String getUsername();
+        String getFirstName();
+        String getLastName();
+        String getAvatarUrl();
+        Integer getLevel();
+    }
+
     @Query("""
             SELECT fr FROM FriendRequest fr
             WHERE (fr.requester.id = :a AND fr.recipient.id = :b)
@@ -29,29 +47,51 @@ public interface FriendRequestRepository extends JpaRepository<FriendRequest, Lo
     List<FriendRequest> findByRequesterAndRecipient(@Param("requesterId") Long requesterId,
                                                     @Param("recipientId") Long recipientId);
 
-    List<FriendRequest> findByRecipientIdAndStatusOrderByCreatedAtDesc(Long recipientId, FriendRequest.Status status);
-    List<FriendRequest> findByRequesterIdAndStatusOrderByCreatedAtDesc(Long requesterId, FriendRequest.Status status);
+    @Query(value = """
+            SELECT fr.id AS id, fr.status AS status, fr.createdAt AS createdAt, fr.respondedAt AS respondedAt,
+                   u.id AS userId, u.username AS username, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.level AS level
+            FROM FriendRequest fr JOIN fr.requester u
+            WHERE fr.recipient.id = :recipientId AND fr.status = 'PENDING'
+            ORDER BY fr.createdAt DESC, fr.id DESC
+            """,
+            countQuery = "SELECT COUNT(fr) FROM FriendRequest fr WHERE fr.recipient.id = :recipientId AND fr.status = 'PENDING'")
+    Page<RequestCardView> findIncomingPending(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    @Query(value = """
+            SELECT fr.id AS id, fr.status AS status, fr.createdAt AS createdAt, fr.respondedAt AS respondedAt,
+                   u.id AS userId, u.username AS username, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.level AS level
+            FROM FriendRequest fr JOIN fr.recipient u
+            WHERE fr.requester.id = :requesterId AND fr.status = 'PENDING'
+            ORDER BY fr.createdAt DESC, fr.id DESC
+            """,
+            countQuery = "SELECT COUNT(fr) FROM FriendRequest fr WHERE fr.requester.id = :requesterId AND fr.status = 'PENDING'")
+    Page<RequestCardView> findOutgoingPending(@Param("requesterId") Long requesterId, Pageable pageable);
 
+    /** Pending requests between the viewer and any of the targets, as {id, requesterId, recipientId}. */
     @Query("""
-            SELECT COUNT(fr) FROM FriendRequest fr
-            WHERE fr.status = 'ACCEPTED' AND (fr.requester.id = :userId OR fr.recipient.id = :userId)
+            SELECT fr.id, fr.requester.id, fr.recipient.id FROM FriendRequest fr
+            WHERE fr.status = 'PENDING' AND fr.requester.id = :viewerId AND fr.recipient.id IN :targetIds
+            UNION ALL
+            SELECT fr.id, fr.requester.id, fr.recipient.id FROM FriendRequest fr
+            WHERE fr.status = 'PENDING' AND fr.recipient.id = :viewerId AND fr.requester.id IN :targetIds
             """)
-    long countFriends(@Param("userId") Long userId);
+    List<Object[]> findPendingBetween(@Param("viewerId") Long viewerId, @Param("targetIds") Collection<Long> targetIds);
 
     @Query("""
-            SELECT CASE WHEN COUNT(fr) > 0 THEN true ELSE false END
-            FROM FriendRequest fr
-            WHERE fr.status = 'ACCEPTED'
-              AND ((fr.requester.id = :a AND fr.recipient.id = :b) OR (fr.requester.id = :b AND fr.recipient.id = :a))
+            SELECT fr.recipient.id FROM FriendRequest fr WHERE fr.requester.id = :userId AND fr.status = 'PENDING'
+            UNION
+            SELECT fr.requester.id FROM FriendRequest fr WHERE fr.recipient.id = :userId AND fr.status = 'PENDING'
             """)
-    boolean areFriends(@Param("a") Long a, @Param("b") Long b);
+    List<Long> findPendingCounterpartIds(@Param("userId") Long userId);
 
+    @Modifying
     @Query("""
-            SELECT fr FROM FriendRequest fr
+            DELETE FROM FriendRequest fr
             WHERE fr.status = 'ACCEPTED'
-              AND (fr.requester.id = :userId OR fr.recipient.id = :userId)
-            ORDER BY fr.respondedAt DESC, fr.createdAt DESC
+              AND ((fr.requester.id = :a AND fr.recipient.id = :b) OR (fr.requester.id = :b AND fr.recipient.id = :a))
             """)
-    List<FriendRequest> findAcceptedForUser(@Param("userId") Long userId);
+    int deleteAcceptedBetween(@Param("a") Long a, @Param("b") Long b);
 }
 
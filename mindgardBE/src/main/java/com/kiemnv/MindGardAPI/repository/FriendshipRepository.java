@@ -0,0 +1,55 @@
+package com.kiemnv.MindGardAPI.repository;
+
+import com.kiemnv.MindGardAPI.entity.Friendship;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * All pair lookups take (low, high) = (min id, max id); see {@link Friendship}.
+ */
+@Repository
+public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
+
+    boolean existsByUserLowIdAndUserHighId(Long userLowId, Long userHighId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO friendships (user_low, user_high, since)
+            VALUES (:low, :high, :since)
+            ON CONFLICT (user_low, user_high) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("low") Long low, @Param("high") Long high, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM Friendship f WHERE f.userLow.id = :low AND f.userHigh.id = :high")
+    int deletePair(@Param("low") Long low, @Param("high") Long high);
+
+    /** (friendId, since) rows for every friendship of the user; each branch is one index range. */
+    @Query("""
+            SELECT f.userHigh.id, f.since FROM Friendship f WHERE f.userLow.id = :userId
+            UNION ALL
+            SELECT f.userLow.id, f.since FROM Friendship f WHERE f.userHigh.id = :userId
+            """)
+    List<Object[]> findFriendIdsWithSince(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT f.userHigh.id FROM Friendship f WHERE f.userLow.id = :userId AND f.userHigh.id IN :candidateIds
+            UNION ALL
+            SELECT f.userLow.id FROM Friendship f WHERE f.userHigh.id = :userId AND f.userLow.id IN :candidateIds
+            """)
+    List<Long> findFriendIdsAmong(@Param("userId") Long userId, @Param("candidateIds") Collection<Long> candidateIds);
+
+    long countByUserLowId(Long userId);
+
+    long countByUserHighId(Long userId);
+
+    @Query("SELECT f.userLow.id, f.userHigh.id FROM Friendship f")
+    List<Object[]> findAllPairs();
+}
@@ -1,15 +1,75 @@
 package com.kiemnv.MindGardAPI.repository;
 
+import com.kiemnv.MindGardAPI.dto.response.NoteSummaryDto;
 import com.kiemnv.MindGardAPI.entity.Note;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
+
+    /** A search hit; the headlines mark matched terms with the StartSel / StopSel of the options. */
+    interface NoteSearchView {
+        Long getId();
+        String getTitle();
+        Boolean getPinned();
+        LocalDateTime getUpdatedAt();
+        Double getRank();
+        String getTitleHeadline();
+        String getSnippet();
+    }
+
     Page<Note> findByUserId(Long userId, Pageable pageable);
+
+    /** Row-locked read, so concurrent patches against the same base version apply one at a time. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Note n WHERE n.id = :id AND n.user.id = :userId")
+    Optional<Note> findForUpdate(@Param("id") Long id, @Param("userId") Long userId);
     List<Note> findByUserId(Long userId);
+    List<Note> findByUserIdAndChangeVersionGreaterThan(Long userId, Long version);
+
+    /** Pinned first, then most recently updated; never reads content. Served by idx_notes_user_pinned_updated. */
+    @Query(value = """
+            SELECT new com.kiemnv.MindGardAPI.dto.response.NoteSummaryDto(n.id, n.title, n.pinned, n.updatedAt, n.preview)
+            FROM Note n
+            WHERE n.user.id = :userId
+            ORDER BY n.pinned DESC, n.updatedAt DESC, n.id DESC
+            """,
+            countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId")
+    Page<NoteSummaryDto> findSummaries(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Ranks the user's notes against a web-search style query (words, "phrases", or, -excluded)
+     * over the search_vector column (see NoteSearchIndexMigration). Headlines are computed only
+     * for the returned rows, and only over the first 20k characters of content.
+     */
+    @Query(value = """
+            SELECT r.id AS id, r.title AS title, r.pinned AS pinned, r.updated_at AS updatedAt, r.rank AS rank,
+                   ts_headline('simple', COALESCE(r.title, ''), r.q, :titleOptions) AS titleHeadline,
+                   ts_headline('simple', LEFT(COALESCE(r.content, ''), 20000), r.q, :snippetOptions) AS snippet
+            FROM (
+                SELECT n.id, n.title, n.pinned, n.updated_at, n.content, q.q,
+                       ts_rank_cd(n.search_vector, q.q) AS rank
+                FROM notes n, websearch_to_tsquery('simple', :query) AS q(q)
+                WHERE n.user_id = :userId AND n.search_vector @@ q.q
+                ORDER BY rank DESC, n.updated_at DESC
+                LIMIT :limit
+            ) r
+            ORDER BY r.rank DESC, r.updated_at DESC
+            """, nativeQuery = true)
+    List<NoteSearchView> search(@Param("userId") Long userId,
+                                @Param("query") String query,
+                                @Param("titleOptions") String titleOptions,
+                                @Param("snippetOptions") String snippetOptions,
+                                @Param("limit") int limit);
 }
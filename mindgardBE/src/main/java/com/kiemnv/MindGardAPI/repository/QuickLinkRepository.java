@@ -4,12 +4,33 @@ import com.kiemnv.MindGardAPI.entity.QuickLink;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface QuickLinkRepository extends JpaRepository<QuickLink, Long> {
     Page<QuickLink> findByUserId(Long userId, Pageable pageable);
-    List<QuickLink> findByUserIdOrderByOrdering(Long userId);
+    List<QuickLink> findByUserIdOrderByRankKeyAscIdAsc(Long userId);
+
+    @Query("SELECT MAX(q.rankKey) FROM QuickLink q WHERE q.user.id = :userId")
+    String findMaxRankKey(@Param("userId") Long userId);
+
+    /** Nearest neighbours of a key, inclusive so that a link sharing the key is found too. */
+    Optional<QuickLink> findFirstByUserIdAndRankKeyGreaterThanEqualAndIdNotInOrderByRankKeyAsc(Long userId, String rankKey, Collection<Long> ids);
+    Optional<QuickLink> findFirstByUserIdAndRankKeyLessThanEqualAndIdNotInOrderByRankKeyDesc(Long userId, String rankKey, Collection<Long> ids);
+
+    /** Users whose keys have grown past maxLength, or that have duplicate or missing keys. */
+    @Query("""
+            SELECT q.user.id FROM QuickLink q GROUP BY q.user.id
+            HAVING MAX(LENGTH(q.rankKey)) > :maxLength
+                OR COUNT(q.rankKey) < COUNT(q.id)
+                OR COUNT(DISTINCT q.rankKey) < COUNT(q.rankKey)
+            """)
+    List<Long> findUserIdsNeedingRebalance(@Param("maxLength") int maxLength);
+    List<QuickLink> findByUserIdAndChangeVersionGreaterThan(Long userId, Long version);
 }
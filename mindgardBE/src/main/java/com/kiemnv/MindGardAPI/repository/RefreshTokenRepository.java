@@ -7,13 +7,15 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
     List<RefreshToken> findByUserAndRevokedFalse(User user);
 
     @Modifying
@@ -21,10 +23,26 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     void revokeAllUserTokens(@Param("user") User user);
 
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.token = :token")
-    void revokeToken(@Param("token") String token);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.tokenHash = :tokenHash")
+    void revokeToken(@Param("tokenHash") String tokenHash);
 
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < CURRENT_TIMESTAMP OR rt.revoked = true")
-    void cleanupExpiredTokens();
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.id = :id AND rt.user = :user")
+    int revokeByIdForUser(@Param("id") Long id, @Param("user") User user);
+
+    /**
+     * Deletes at most {@code batchSize} expired or revoked tokens. Rows locked by a concurrent
+     * refresh/logout are skipped, so each call holds its locks only for one short batch.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now OR revoked = true
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int cleanupExpiredTokens(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
@@ -11,5 +11,7 @@ import java.util.List;
 @Repository
 public interface SceneRepository extends JpaRepository<Scene, Long> {
     Page<Scene> findByUserId(Long userId, Pageable pageable);
-    List<Scene> findByUserIdOrIsDefaultTrue(Long userId);
+    List<Scene> findByUserIdAndIsDefaultFalseOrderById(Long userId);
+    List<Scene> findByIsDefaultTrueOrderById();
+    List<Scene> findByUserIdAndChangeVersionGreaterThan(Long userId, Long version);
 }
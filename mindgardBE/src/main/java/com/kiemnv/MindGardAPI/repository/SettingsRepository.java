@@ -1,7 +1,11 @@
 package com.kiemnv.MindGardAPI.repository;
 
 import com.kiemnv.MindGardAPI.entity.Settings;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +13,9 @@ import java.util.Optional;
 @Repository
 public interface SettingsRepository extends JpaRepository<Settings, Long> {
     Optional<Settings> findByUserId(Long userId);
+
+    /** Row-locked read for read-modify-write of the quick notes text. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Settings s WHERE s.user.id = :userId")
+    Optional<Settings> findForUpdateByUserId(@Param("userId") Long userId);
 }
@@ -11,5 +11,7 @@ import java.util.List;
 @Repository
 public interface SoundRepository extends JpaRepository<Sound, Long> {
     Page<Sound> findByUserId(Long userId, Pageable pageable);
-    List<Sound> findByUserIdOrUserIsNull(Long userId);
+    List<Sound> findByUserIdOrderById(Long userId);
+    List<Sound> findByUserIsNullOrderById();
+    List<Sound> findByUserIdAndChangeVersionGreaterThan(Long userId, Long version);
 }
@@ -0,0 +1,12 @@
+package com.kiemnv.MindGardAPI.repository;
+
+import com.kiemnv.MindGardAPI.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    List<SyncTombstone> findByUserIdAndChangeVersionGreaterThan(Long userId, Long version);
+}
@@ -1,11 +1,16 @@
 package com.kiemnv.MindGardAPI.repository;
 
+import com.kiemnv.MindGardAPI.dto.response.TodoDto;
 import com.kiemnv.MindGardAPI.entity.Todo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +18,102 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     Page<Todo> findByUserId(Long userId, Pageable pageable);
     List<Todo> findByUserId(Long userId);
     List<Todo> findByUserIdAndCompleted(Long userId, boolean completed);
+    List<Todo> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+    List<Todo> findByUserIdAndChangeVersionGreaterThan(Long userId, Long version);
+
+    // --- filtered, keyset-paged queries (TodoService.query); one method per sort order ---
+
+    String TODO_DTO = "SELECT new com.kiemnv.MindGardAPI.dto.response.TodoDto(t.id, t.title, t.completed, t.priority, t.dueAt, t.tags) FROM Todo t ";
+
+    String TODO_FILTER = """
+            WHERE t.user.id = :userId
+              AND (:completed IS NULL OR t.completed = :completed)
+              AND (:dueBefore IS NULL OR t.dueAt < :dueBefore)
+              AND (:dueAfter IS NULL OR t.dueAt >= :dueAfter)
+              AND (:minPriority IS NULL OR t.priority >= :minPriority)
+              AND (:tagMatches = 0 OR t.id IN (
+                    SELECT tt.todo.id FROM TodoTag tt
+                    WHERE tt.user.id = :userId AND tt.tag IN :tags
+                    GROUP BY tt.todo.id HAVING COUNT(tt) >= :tagMatches))
+            """;
+
+    @Query(TODO_DTO + TODO_FILTER + """
+              AND (:afterId IS NULL OR t.id < :afterId)
+            ORDER BY t.id DESC
+            """)
+    List<TodoDto> queryNewestFirst(@Param("userId") Long userId,
+                                   @Param("completed") Boolean completed,
+                                   @Param("dueBefore") LocalDateTime dueBefore,
+                                   @Param("dueAfter") LocalDateTime dueAfter,
+                                   @Param("minPriority") Integer minPriority,
+                                   @Param("tags") Collection<String> tags,
+                                   @Param("tagMatches") long tagMatches,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    // DUE and PRIORITY sort with NULLS LAST, so each is two seekable queries: the rows with a value,
+    // continued with a row-value comparison on (key, id), then the rows without one, by id alone.
+    // TodoService runs the second only once the first is exhausted.
+
+    /** Todos with a due date, soonest first, after (afterDue, afterId). */
+    @Query(TODO_DTO + TODO_FILTER + """
+              AND t.dueAt IS NOT NULL AND (t.dueAt, t.id) > (:afterDue, :afterId)
+            ORDER BY t.dueAt ASC, t.id ASC
+            """)
+    List<TodoDto> queryByDue(@Param("userId") Long userId,
+                             @Param("completed") Boolean completed,
+                             @Param("dueBefore") LocalDateTime dueBefore,
+                             @Param("dueAfter") LocalDateTime dueAfter,
+                             @Param("minPriority") Integer minPriority,
+                             @Param("tags") Collection<String> tags,
+                             @Param("tagMatches") long tagMatches,
+                             @Param("afterDue") LocalDateTime afterDue,
+                             @Param("afterId") Long afterId,
+                             Pageable pageable);
+
+    /** Todos without a due date (they sort after all dated ones), by id, after afterId. */
+    @Query(TODO_DTO + TODO_FILTER + """
+              AND t.dueAt IS NULL AND t.id > :afterId
+            ORDER BY t.id ASC
+            """)
+    List<TodoDto> queryUndated(@Param("userId") Long userId,
+                               @Param("completed") Boolean completed,
+                               @Param("dueBefore") LocalDateTime dueBefore,
+                               @Param("dueAfter") LocalDateTime dueAfter,
+                               @Param("minPriority") Integer minPriority,
+                               @Param("tags") Collection<String> tags,
+                               @Param("tagMatches") long tagMatches,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    /** Todos with a priority, highest first, after (afterPriority, afterId) in that order. */
+    @Query(TODO_DTO + TODO_FILTER + """
+              AND t.priority IS NOT NULL AND (t.priority, t.id) < (:afterPriority, :afterId)
+            ORDER BY t.priority DESC, t.id DESC
+            """)
+    List<TodoDto> queryByPriority(@Param("userId") Long userId,
+                                  @Param("completed") Boolean completed,
+                                  @Param("dueBefore") LocalDateTime dueBefore,
+                                  @Param("dueAfter") LocalDateTime dueAfter,
+                                  @Param("minPriority") Integer minPriority,
+                                  @Param("tags") Collection<String> tags,
+                                  @Param("tagMatches") long tagMatches,
+                                  @Param("afterPriority") Integer afterPriority,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
+
+    /** Todos without a priority (they sort after all prioritized ones), newest id first, before afterId. */
+    @Query(TODO_DTO + TODO_FILTER + """
+              AND t.priority IS NULL AND t.id < :afterId
+            ORDER BY t.id DESC
+            """)
+    List<TodoDto> queryUnprioritized(@Param("userId") Long userId,
+                                     @Param("completed") Boolean completed,
+                                     @Param("dueBefore") LocalDateTime dueBefore,
+                                     @Param("dueAfter") LocalDateTime dueAfter,
+                                     @Param("minPriority") Integer minPriority,
+                                     @Param("tags") Collection<String> tags,
+                                     @Param("tagMatches") long tagMatches,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
 }
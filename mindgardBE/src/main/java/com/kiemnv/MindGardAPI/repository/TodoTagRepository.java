@@ -0,0 +1,29 @@
+package com.kiemnv.MindGardAPI.repository;
+
+import com.kiemnv.MindGardAPI.dto.response.TodoTagCountDto;
+import com.kiemnv.MindGardAPI.entity.TodoTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TodoTagRepository extends JpaRepository<TodoTag, Long> {
+
+    @Query("""
+            SELECT new com.kiemnv.MindGardAPI.dto.response.TodoTagCountDto(tt.tag, COUNT(tt))
+            FROM TodoTag tt
+            WHERE tt.user.id = :userId
+            GROUP BY tt.tag
+            ORDER BY COUNT(tt) DESC, tt.tag ASC
+            """)
+    List<TodoTagCountDto> countByTag(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM TodoTag tt WHERE tt.todo.id IN :todoIds")
+    int deleteByTodoIds(@Param("todoIds") Collection<Long> todoIds);
+}
@@ -0,0 +1,14 @@
+package com.kiemnv.MindGardAPI.repository;
+
+/**
+ * The handful of user columns shown on friend/request cards, selected directly in JPQL so that
+ * listing queries don't load User entities (and their eager roles) row by row.
+ */
+public interface UserCardView {
+    Long getId();
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+    String getAvatarUrl();
+    Integer getLevel();
+}
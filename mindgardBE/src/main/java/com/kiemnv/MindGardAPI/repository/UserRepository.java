@@ -11,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +24,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     Page<User> findByStatus(UserStatus status, Pageable pageable);
+
+    @Query("""
+            SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.level AS level
+            FROM User u WHERE u.id IN :ids AND u.status = :status
+            """)
+    List<UserCardView> findCardsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") UserStatus status);
+
+    @Query("""
+            SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.level AS level
+            FROM User u WHERE u.id IN :ids
+            """)
+    List<UserCardView> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.level AS level
+            FROM User u WHERE u.status = :status
+            """)
+    List<UserCardView> findCardsByStatus(@Param("status") UserStatus status);
     @Modifying
     @Query("UPDATE User u SET u.lastLogin = :lastLogin WHERE u.id = :userId")
     void updateLastLogin(@Param("userId") Long userId, @Param("lastLogin") LocalDateTime lastLogin);
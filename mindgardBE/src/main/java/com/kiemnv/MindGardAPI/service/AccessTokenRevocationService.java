@@ -0,0 +1,95 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.config.JwtProperties;
+import com.nimbusds.jwt.JWTClaimsSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory denylist for access tokens, checked on every request by JwtAuthenticationFilter.
+ *
+ * Single tokens are revoked by jti and kept in a bucket keyed by the minute the token expires,
+ * so a lookup only touches the one bucket matching the token's exp claim and whole buckets are
+ * dropped once that minute has passed. logoutAll can't know the jtis of tokens held by other
+ * devices, so it records a per-user cutoff instead: tokens issued before it are rejected until
+ * the cutoff is older than the access-token lifetime. iat has one-second resolution, so the
+ * comparison is strict: a token issued in the same second as the logout (an immediate re-login
+ * elsewhere) stays valid, at the cost of also sparing one issued earlier within that second.
+ *
+ * State is per node; revocations are lost on restart (at most one access-token lifetime of exposure).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessTokenRevocationService {
+
+    private final JwtProperties jwtProperties;
+
+    // epoch minute of token expiry -> revoked jtis expiring in that minute
+    private final Map<Long, Set<String>> revokedJtisByExpiryMinute = new ConcurrentHashMap<>();
+    // userId -> epoch second; tokens with iat < this are revoked
+    private final Map<Long, Long> userRevokedBefore = new ConcurrentHashMap<>();
+
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.before(new Date())) return;
+        revokedJtisByExpiryMinute
+                .computeIfAbsent(toEpochMinute(expiresAt), k -> ConcurrentHashMap.newKeySet())
+                .add(jti);
+    }
+
+    public void revoke(JWTClaimsSet claims) {
+        revoke(claims.getJWTID(), claims.getExpirationTime());
+    }
+
+    public void revokeAllForUser(Long userId) {
+        if (userId == null) return;
+        userRevokedBefore.put(userId, System.currentTimeMillis() / 1000);
+    }
+
+    public boolean isRevoked(JWTClaimsSet claims) {
+        Date exp = claims.getExpirationTime();
+        if (exp != null && claims.getJWTID() != null) {
+            Set<String> bucket = revokedJtisByExpiryMinute.get(toEpochMinute(exp));
+            if (bucket != null && bucket.contains(claims.getJWTID())) return true;
+        }
+        if (!userRevokedBefore.isEmpty()) {
+            Long userId = getUserId(claims);
+            Long cutoff = userId != null ? userRevokedBefore.get(userId) : null;
+            Date iat = claims.getIssueTime();
+            if (cutoff != null && iat != null && iat.getTime() / 1000 < cutoff) return true;
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long nowMillis = System.currentTimeMillis();
+        long currentMinute = nowMillis / 60_000;
+        revokedJtisByExpiryMinute.keySet().removeIf(minute -> minute < currentMinute);
+
+        long accessTtlSeconds = jwtProperties.getAccessTokenExpiration() / 1000;
+        long nowSeconds = nowMillis / 1000;
+        userRevokedBefore.values().removeIf(cutoff -> cutoff + accessTtlSeconds < nowSeconds);
+    }
+
+    private static long toEpochMinute(Date date) {
+        return date.getTime() / 60_000;
+    }
+
+    private static Long getUserId(JWTClaimsSet claims) {
+        try {
+            return claims.getLongClaim("userId");
+        } catch (ParseException e) {
+            log.debug("Token has malformed userId claim: {}", e.getMessage());
+            return null;
+        }
+    }
+}
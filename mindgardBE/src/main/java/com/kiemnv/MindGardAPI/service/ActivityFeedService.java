@@ -0,0 +1,280 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.response.ActivityEventDto;
+import com.kiemnv.MindGardAPI.dto.response.ActivityFeedDto;
+import com.kiemnv.MindGardAPI.entity.ActivityEvent;
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.repository.ActivityEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Friends' activity feed (completed sessions, level-ups, streak milestones) with fan-out on write.
+ *
+ * Events are stored in activity_events, which is the durable tail of every feed. After commit, a
+ * new event is pushed into the in-memory timeline of each of the author's friends that currently
+ * has one: a bounded, id-ordered buffer of the latest TIMELINE_CAPACITY events. A timeline is
+ * built from the table on the reader's first request and dropped when idle, so memory follows the
+ * active readers rather than the user count. Authors with more than FANOUT_LIMIT friends are not
+ * pushed; their events are pulled at read time and merged in. A page is a binary search plus a copy
+ * from the buffer, and only goes to the table for pull-mode friends or past the end of the buffer.
+ * A timeline remembers which friends it was built from and is rebuilt when a friend switches from
+ * pull back to push, since the buffer never received that friend's events while they were pulled.
+ *
+ * Timelines are per node; a node that didn't see an event picks it up when the timeline is rebuilt.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityFeedService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private static final int TIMELINE_CAPACITY = 200;
+    private static final int FANOUT_LIMIT = 500;
+    private static final int MAX_TIMELINES = 10_000;
+    private static final long TIMELINE_IDLE_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final int RETENTION_DAYS = 30;
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final int MAX_DELETE_BATCHES_PER_RUN = 500;
+    private static final int[] STREAK_MILESTONES = {3, 7, 14, 30, 50, 100, 200, 365};
+
+    private static final Comparator<ActivityEventDto> NEWEST_FIRST =
+            Comparator.comparing(ActivityEventDto::getId).reversed();
+
+    private final ActivityEventRepository activityEventRepository;
+    private final FriendGraph friendGraph;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    /** Latest events for one reader, ascending by id. */
+    private static final class Timeline {
+        private final List<ActivityEventDto> events = new ArrayList<>();
+        private boolean loaded;
+        private boolean truncated; // older events exist in the table
+        private Set<Long> sources = Set.of(); // push-mode friends the buffer was loaded from
+        private List<ActivityEventDto> arrivedDuringLoad; // non-null while a (re)load is running
+        private final Object loadLock = new Object(); // one loader at a time; fan-out never takes it
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        synchronized void add(ActivityEventDto event) {
+            if (arrivedDuringLoad != null) arrivedDuringLoad.add(event);
+            insert(event);
+        }
+
+        private void insert(ActivityEventDto event) {
+            int i = events.size();
+            while (i > 0 && events.get(i - 1).getId() >= event.getId()) {
+                if (events.get(i - 1).getId().equals(event.getId())) return;
+                i--;
+            }
+            events.add(i, event);
+            if (events.size() > TIMELINE_CAPACITY) {
+                events.remove(0);
+                truncated = true;
+            }
+        }
+
+        /** Up to size events with id < beforeId, newest first. */
+        synchronized List<ActivityEventDto> page(long beforeId, int size) {
+            int lo = 0, hi = events.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (events.get(mid).getId() < beforeId) lo = mid + 1;
+                else hi = mid;
+            }
+            List<ActivityEventDto> out = new ArrayList<>(Math.min(size, lo));
+            for (int i = lo - 1; i >= 0 && out.size() < size; i--) out.add(events.get(i));
+            return out;
+        }
+
+        synchronized boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Reloads the buffer unless it was already built from every one of pushedFriends. The query
+         * runs without the timeline's monitor, so fan-out from writers' after-commit hooks never
+         * waits on it; events fanned out meanwhile are recorded and replayed onto the new buffer.
+         */
+        void ensureLoaded(List<Long> pushedFriends, Function<List<Long>, List<ActivityEventDto>> loader) {
+            if (isCurrent(pushedFriends)) return;
+            synchronized (loadLock) {
+                if (isCurrent(pushedFriends)) return;
+                synchronized (this) {
+                    arrivedDuringLoad = new ArrayList<>();
+                }
+                List<ActivityEventDto> initial;
+                try {
+                    initial = loader.apply(pushedFriends);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        arrivedDuringLoad = null;
+                    }
+                    throw e;
+                }
+                synchronized (this) {
+                    List<ActivityEventDto> arrived = arrivedDuringLoad;
+                    arrivedDuringLoad = null;
+                    events.clear();
+                    for (ActivityEventDto e : initial) insert(e);
+                    truncated = initial.size() == TIMELINE_CAPACITY;
+                    for (ActivityEventDto e : arrived) insert(e);
+                    sources = new HashSet<>(pushedFriends);
+                    loaded = true;
+                }
+            }
+        }
+
+        private synchronized boolean isCurrent(List<Long> pushedFriends) {
+            return loaded && sources.containsAll(pushedFriends);
+        }
+    }
+
+    /** Stores the event; friends' timelines get it once the surrounding transaction commits. */
+    @Transactional
+    public void record(User actor, ActivityEvent.Type type, long value) {
+        if (actor == null || actor.getId() == null) return;
+        ActivityEvent saved = activityEventRepository.save(ActivityEvent.builder()
+                .user(actor)
+                .type(type)
+                .value(value)
+                .createdAt(LocalDateTime.now())
+                .build());
+        ActivityEventDto dto = ActivityEventDto.builder()
+                .id(saved.getId())
+                .type(type.name())
+                .value(value)
+                .createdAt(saved.getCreatedAt())
+                .actor(FriendService.toUserDto(actor))
+                .build();
+        TransactionHooks.afterCommit(() -> fanOut(actor.getId(), dto));
+    }
+
+    public static boolean isStreakMilestone(int previousStreak, int currentStreak) {
+        if (currentStreak <= previousStreak) return false;
+        for (int milestone : STREAK_MILESTONES) {
+            if (previousStreak < milestone && currentStreak >= milestone) return true;
+        }
+        return false;
+    }
+
+    @Transactional(readOnly = true)
+    public ActivityFeedDto feed(Long userId, Long before, int size) {
+        int n = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = before != null ? before : Long.MAX_VALUE;
+
+        long[] friends = friendGraph.friendIds(userId);
+        if (friends.length == 0) return new ActivityFeedDto(List.of(), null);
+        List<Long> pushed = new ArrayList<>(friends.length);
+        List<Long> pulled = new ArrayList<>();
+        for (long friendId : friends) {
+            (friendGraph.countFriends(friendId) > FANOUT_LIMIT ? pulled : pushed).add(friendId);
+        }
+
+        List<ActivityEventDto> items = new ArrayList<>(n * 2);
+        if (!pushed.isEmpty()) {
+            Timeline timeline = timeline(userId, pushed);
+            List<ActivityEventDto> buffered = timeline.page(cursor, n);
+            items.addAll(buffered);
+            if (buffered.size() < n && timeline.isTruncated()) {
+                long from = buffered.isEmpty() ? cursor : buffered.get(buffered.size() - 1).getId();
+                items.addAll(load(pushed, from, n - buffered.size()));
+            }
+        }
+        if (!pulled.isEmpty()) {
+            items.addAll(load(pulled, cursor, n));
+        }
+
+        Map<Long, ActivityEventDto> unique = new LinkedHashMap<>();
+        items.sort(NEWEST_FIRST);
+        for (ActivityEventDto e : items) {
+            if (unique.size() == n) break;
+            unique.putIfAbsent(e.getId(), e);
+        }
+        List<ActivityEventDto> page = List.copyOf(unique.values());
+        Long nextBefore = page.size() == n ? page.get(n - 1).getId() : null;
+        return new ActivityFeedDto(page, nextBefore);
+    }
+
+    /** Drops both users' timelines; their friend sets changed, so they are rebuilt on next read. */
+    public void invalidate(Long a, Long b) {
+        timelines.remove(a);
+        timelines.remove(b);
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictIdleTimelines() {
+        long now = System.nanoTime();
+        timelines.values().removeIf(t -> now - t.lastAccessNanos > TIMELINE_IDLE_NANOS);
+    }
+
+    /** Deletes events past retention in small batches, each in its own transaction. */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void deleteExpiredEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        long total = 0;
+        for (int i = 0; i < MAX_DELETE_BATCHES_PER_RUN; i++) {
+            int deleted = activityEventRepository.deleteOlderThan(cutoff, DELETE_BATCH_SIZE);
+            total += deleted;
+            if (deleted < DELETE_BATCH_SIZE) break;
+        }
+        if (total > 0) log.info("Deleted {} activity events older than {} days", total, RETENTION_DAYS);
+    }
+
+    private void fanOut(Long actorId, ActivityEventDto event) {
+        long[] friends = friendGraph.friendIds(actorId);
+        if (friends.length > FANOUT_LIMIT) return; // pull mode: readers fetch this author's events themselves
+        for (long friendId : friends) {
+            Timeline timeline = timelines.get(friendId);
+            if (timeline != null) timeline.add(event);
+        }
+    }
+
+    private Timeline timeline(Long userId, List<Long> pushedFriends) {
+        Timeline timeline = timelines.get(userId);
+        if (timeline == null) {
+            timeline = new Timeline();
+            if (timelines.size() < MAX_TIMELINES) {
+                Timeline existing = timelines.putIfAbsent(userId, timeline);
+                if (existing != null) timeline = existing;
+            }
+        }
+        timeline.lastAccessNanos = System.nanoTime();
+        // registered before loading, so events fanned out during the load are replayed rather than lost
+        timeline.ensureLoaded(pushedFriends, authors -> load(authors, Long.MAX_VALUE, TIMELINE_CAPACITY));
+        return timeline;
+    }
+
+    private List<ActivityEventDto> load(List<Long> authorIds, long beforeId, int limit) {
+        List<ActivityEventDto> out = new ArrayList<>(limit);
+        for (ActivityEventRepository.ActivityEventView v
+                : activityEventRepository.findRecentByUsers(authorIds, beforeId, PageRequest.of(0, limit))) {
+            out.add(ActivityEventDto.builder()
+                    .id(v.getId())
+                    .type(v.getType().name())
+                    .value(v.getValue())
+                    .createdAt(v.getCreatedAt())
+                    .actor(FriendService.toUserDto(v.getUserId(), v.getUsername(), v.getFirstName(),
+                            v.getLastName(), v.getAvatarUrl(), v.getLevel()))
+                    .build());
+        }
+        return out;
+    }
+}
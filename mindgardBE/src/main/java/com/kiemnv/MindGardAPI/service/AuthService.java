@@ -4,6 +4,7 @@ import com.kiemnv.MindGardAPI.config.JwtProperties;
 import com.kiemnv.MindGardAPI.dto.request.LoginRequest;
 import com.kiemnv.MindGardAPI.dto.request.RegisterRequest;
 import com.kiemnv.MindGardAPI.dto.response.AuthResponse;
+import com.kiemnv.MindGardAPI.dto.response.SessionDto;
 import com.kiemnv.MindGardAPI.entity.RefreshToken;
 import com.kiemnv.MindGardAPI.entity.Role;
 import com.kiemnv.MindGardAPI.entity.User;
@@ -14,6 +15,7 @@ import com.kiemnv.MindGardAPI.exception.UserAccountStatusException;
 import com.kiemnv.MindGardAPI.exception.UserAlreadyExistsException;
 import com.kiemnv.MindGardAPI.repository.RefreshTokenRepository;
 import com.kiemnv.MindGardAPI.repository.UserRepository;
+import com.nimbusds.jwt.JWTClaimsSet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -24,10 +26,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,21 +47,33 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
-
-    @Transactional
+    private final AccessTokenRevocationService accessTokenRevocationService;
+    private final RateLimiterService rateLimiterService;
+    private final UserSearchIndex userSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The password check runs outside any transaction: it may wait on BoundedPasswordEncoder's
+     * queue and then hash for a while, and holding a pooled DB connection meanwhile would let a
+     * login burst drain the pool. The user lookup takes its own short read; only the writes that
+     * follow share a transaction.
+     */
     public AuthResponse login(LoginRequest request, HttpServletResponse response) {
+        rateLimiterService.checkAccount("/api/auth/login", request.getUsername(), response);
+
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
         User user = (User) authentication.getPrincipal();
 
-        userRepository.updateLastLogin(user.getId(), LocalDateTime.now());
-
         String accessToken = jwtService.generateAccessToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
 
-        saveRefreshToken(user, refreshToken);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.updateLastLogin(user.getId(), LocalDateTime.now());
+            saveRefreshToken(user, refreshToken);
+        });
 
         addRefreshTokenCookie(response, refreshToken);
 
@@ -64,7 +81,7 @@ public class AuthService {
     }
 
 
-    @Transactional
+    /** Like login, hashes the password before opening the transaction that stores the user. */
     public AuthResponse register(RegisterRequest request, HttpServletResponse response) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new UserAlreadyExistsException("Username already exists");
@@ -84,26 +101,32 @@ public class AuthService {
                 .status(UserStatus.ACTIVE)
                 .build();
 
-        user = userRepository.save(user);
+        AuthResponse auth = transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            userSearchIndex.upsertAfterCommit(saved);
 
-        String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+            String accessToken = jwtService.generateAccessToken(saved);
+            String refreshToken = jwtService.generateRefreshToken(saved);
 
-        saveRefreshToken(user, refreshToken);
+            saveRefreshToken(saved, refreshToken);
 
-        addRefreshTokenCookie(response, refreshToken);
+            return buildAuthResponse(saved, accessToken, refreshToken);
+        });
 
-        return buildAuthResponse(user, accessToken, refreshToken);
+        addRefreshTokenCookie(response, auth.getRefreshToken());
+
+        return auth;
     }
 
     @Transactional
     public AuthResponse refreshToken(String oldRefreshToken, HttpServletResponse response) {
+        String oldTokenHash = jwtService.hashToken(oldRefreshToken);
         if (!jwtService.validateToken(oldRefreshToken, "refresh")) {
-            refreshTokenRepository.revokeToken(oldRefreshToken);
+            refreshTokenRepository.revokeToken(oldTokenHash);
             throw new TokenException("Invalid refresh token");
         }
 
-        RefreshToken storedToken = refreshTokenRepository.findByToken(oldRefreshToken)
+        RefreshToken storedToken = refreshTokenRepository.findByTokenHash(oldTokenHash)
                 .orElseThrow(() -> new TokenException("Invalid refresh token"));
 
         HttpServletRequest currentRequest = getCurrentRequest();
@@ -112,29 +135,29 @@ public class AuthService {
         if (!storedToken.getIpAddress().equals(currentIpAddress)) {
             log.warn("Refresh token used from different IP. Revoking token. Original IP: {}, Current IP: {}",
                     storedToken.getIpAddress(), currentIpAddress);
-            refreshTokenRepository.revokeToken(oldRefreshToken);
+            refreshTokenRepository.revokeToken(oldTokenHash);
             throw new TokenException("Refresh token used from unauthorized location.");
         }
 
         if (!storedToken.isValid()) {
-            refreshTokenRepository.revokeToken(oldRefreshToken);
+            refreshTokenRepository.revokeToken(oldTokenHash);
             throw new TokenException("Refresh token is expired or revoked");
         }
 
         User user = storedToken.getUser();
 
         if (user.getStatus() == UserStatus.PENDING_APPROVAL) {
-            refreshTokenRepository.revokeToken(oldRefreshToken);
+            refreshTokenRepository.revokeToken(oldTokenHash);
             throw new PendingApprovalException("Account is pending approval. Please wait for admin approval.");
         } else if (user.getStatus() != UserStatus.ACTIVE) {
-            refreshTokenRepository.revokeToken(oldRefreshToken);
+            refreshTokenRepository.revokeToken(oldTokenHash);
             throw new UserAccountStatusException("Your account is " + user.getStatus().name().toLowerCase() + ". Please contact support.");
         }
 
         String newAccessToken = jwtService.generateAccessToken(user);
         String newRefreshToken = jwtService.generateRefreshToken(user);
 
-        refreshTokenRepository.revokeToken(oldRefreshToken);
+        refreshTokenRepository.revokeToken(oldTokenHash);
         saveRefreshToken(user, newRefreshToken);
 
         addRefreshTokenCookie(response, newRefreshToken);
@@ -143,9 +166,14 @@ public class AuthService {
     }
 
     @Transactional
-    public void logout(String refreshToken) {
-        refreshTokenRepository.findByToken(refreshToken)
-                .ifPresent(token -> refreshTokenRepository.revokeToken(refreshToken));
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenRepository.revokeToken(jwtService.hashToken(refreshToken));
+        if (accessToken != null) {
+            JWTClaimsSet claims = jwtService.verifyAndGetClaims(accessToken, "access");
+            if (claims != null) {
+                accessTokenRevocationService.revoke(claims);
+            }
+        }
     }
 
     @Transactional
@@ -153,13 +181,38 @@ public class AuthService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         refreshTokenRepository.revokeAllUserTokens(user);
+        accessTokenRevocationService.revokeAllForUser(user.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SessionDto> listActiveSessions(User user, String currentRefreshToken) {
+        String currentHash = currentRefreshToken != null ? jwtService.hashToken(currentRefreshToken) : null;
+        return refreshTokenRepository.findByUserAndRevokedFalse(user).stream()
+                .filter(token -> !token.isExpired())
+                .sorted(Comparator.comparing(RefreshToken::getCreatedAt).reversed())
+                .map(token -> SessionDto.builder()
+                        .id(token.getId())
+                        .deviceInfo(token.getDeviceInfo())
+                        .ipAddress(token.getIpAddress())
+                        .createdAt(token.getCreatedAt())
+                        .expiresAt(token.getExpiresAt())
+                        .current(token.getTokenHash().equals(currentHash))
+                        .build())
+                .toList();
+    }
+
+    @Transactional
+    public void revokeSession(User user, Long sessionId) {
+        if (refreshTokenRepository.revokeByIdForUser(sessionId, user) == 0) {
+            throw new TokenException("Session not found");
+        }
     }
 
     private void saveRefreshToken(User user, String token) {
         HttpServletRequest request = getCurrentRequest();
 
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(token)
+                .tokenHash(jwtService.hashToken(token))
                 .user(user)
                 .expiresAt(LocalDateTime.now().plusSeconds(jwtProperties.getRefreshTokenExpiration() / 1000))
                 .deviceInfo(request != null ? request.getHeader("User-Agent") : "Unknown")
@@ -217,17 +270,12 @@ public class AuthService {
         }
     }
 
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
+    /**
+     * The peer address as resolved by the container. Forwarded headers are honoured only when they
+     * come from a trusted proxy (server.forward-headers-strategy / server.tomcat.remoteip), never
+     * read here directly: clients can set them to anything.
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
         return request.getRemoteAddr();
     }
 }
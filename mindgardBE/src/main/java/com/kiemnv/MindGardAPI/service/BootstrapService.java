@@ -0,0 +1,161 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.response.BootstrapSectionDto;
+import com.kiemnv.MindGardAPI.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.RawValue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads the sections of the extension bootstrap payload concurrently and tags each with a strong
+ * ETag (SHA-256 of its JSON), so a client that sends back the tags it holds only receives the
+ * sections that changed.
+ *
+ * The sections of one request are split across at most LANES_PER_REQUEST lanes; each lane loads
+ * its sections one after another in a single transaction on a small fixed pool. The pool size caps
+ * how many DB connections bootstrap calls hold at once node-wide (POOL_SIZE, well below Hikari's
+ * default of 10), and a request never holds more than LANES_PER_REQUEST of them. When the queue is
+ * full the request is refused with 429 rather than run on the request thread, which would take
+ * another connection outside that cap. Sections are serialized inside their transaction, so lazy
+ * associations resolve exactly as they do for the standalone endpoints.
+ */
+@Slf4j
+@Service
+public class BootstrapService {
+
+    private static final int POOL_SIZE = 4;
+    private static final int LANES_PER_REQUEST = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public BootstrapService(JsonMapper jsonMapper, PlatformTransactionManager transactionManager) {
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                POOL_SIZE, POOL_SIZE,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "bootstrap-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs the loaders in up to LANES_PER_REQUEST concurrent lanes and returns the sections in the
+     * loaders' iteration order. A section whose etag equals the one in {@code knownEtags} comes
+     * back with unchanged=true and no data.
+     */
+    public Map<String, BootstrapSectionDto> gather(Map<String, Supplier<?>> loaders, Map<String, String> knownEtags) {
+        int laneCount = Math.max(1, Math.min(LANES_PER_REQUEST, loaders.size()));
+        List<Map<String, Supplier<?>>> lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) lanes.add(new LinkedHashMap<>());
+        int next = 0;
+        for (Map.Entry<String, Supplier<?>> e : loaders.entrySet()) {
+            lanes.get(next++ % laneCount).put(e.getKey(), e.getValue());
+        }
+
+        List<CompletableFuture<Map<String, BootstrapSectionDto>>> futures = new ArrayList<>(laneCount);
+        try {
+            for (Map<String, Supplier<?>> lane : lanes) {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> transactionTemplate.execute(status -> sections(lane, knownEtags)), executor));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new TooManyRequestsException("Server busy, please retry", 1);
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bootstrap interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ce ? ce.getCause() : e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new RuntimeException("Bootstrap failed", cause);
+        } catch (TimeoutException e) {
+            futures.forEach(f -> f.cancel(true));
+            log.warn("Bootstrap sections did not complete within {}s", TIMEOUT_SECONDS);
+            throw new RuntimeException("Bootstrap timed out");
+        }
+
+        Map<String, BootstrapSectionDto> loaded = new HashMap<>();
+        futures.forEach(f -> loaded.putAll(f.join()));
+        Map<String, BootstrapSectionDto> sections = new LinkedHashMap<>();
+        for (String name : loaders.keySet()) sections.put(name, loaded.get(name));
+        return sections;
+    }
+
+    private Map<String, BootstrapSectionDto> sections(Map<String, Supplier<?>> lane, Map<String, String> knownEtags) {
+        Map<String, BootstrapSectionDto> out = new HashMap<>();
+        lane.forEach((name, loader) -> out.put(name, section(loader.get(), knownEtags.get(name))));
+        return out;
+    }
+
+    private BootstrapSectionDto section(Object value, String knownEtag) {
+        byte[] json = jsonMapper.writeValueAsBytes(value);
+        String etag = etag(json);
+        if (etag.equals(normalize(knownEtag))) {
+            return BootstrapSectionDto.builder().etag(etag).unchanged(true).build();
+        }
+        return BootstrapSectionDto.builder()
+                .etag(etag)
+                .data(new RawValue(new String(json, StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Accepts the tag with or without quotes, as clients tend to strip them. */
+    private static String normalize(String etag) {
+        if (etag == null) return null;
+        String t = etag.trim();
+        return t.startsWith("\"") ? t : "\"" + t + "\"";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.entity.Scene;
+import com.kiemnv.MindGardAPI.entity.Sound;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
+import com.kiemnv.MindGardAPI.repository.SceneRepository;
+import com.kiemnv.MindGardAPI.repository.SoundRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable in-memory snapshot of the shared catalog every user's listing includes: default scenes
+ * (isDefault, whoever owns them) and built-in sounds (user == null). Per-user listings read only
+ * the user's own rows and merge in the snapshot.
+ *
+ * Each half is tagged with the shared version it was loaded under (collection_versions, user 0),
+ * which SceneService and SoundService bump on every change to a shared row; they also drop this
+ * node's half after commit, so the next read reloads it. Other nodes notice the bump in one of two
+ * ways. A caller that already read the shared version for its ETag passes it in, and the snapshot
+ * reloads only when it differs, with no query of its own. Other callers get the snapshot from
+ * memory for REVALIDATE_AFTER after it was last confirmed, then re-check the version once. The
+ * snapshot's entities are shared between requests and must not be modified.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    private static final long REVALIDATE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final class Snapshot<T> {
+        final List<T> items;
+        final long version;
+        volatile long verifiedNanos = System.nanoTime(); // last time version was known current
+
+        Snapshot(List<T> items, long version) {
+            this.items = items;
+            this.version = version;
+        }
+    }
+
+    private final SceneRepository sceneRepository;
+    private final SoundRepository soundRepository;
+    private final ChangeVersionService changeVersionService;
+
+    private volatile Snapshot<Scene> scenes;
+    private volatile Snapshot<Sound> sounds;
+
+    public List<Scene> defaultScenes() {
+        Snapshot<Scene> s = scenes;
+        if (s != null && System.nanoTime() - s.verifiedNanos < REVALIDATE_AFTER_NANOS) return s.items;
+        return defaultScenes(changeVersionService.sharedVersion(SyncCollection.SCENES));
+    }
+
+    /** For callers that already read the shared scenes version; it must be read before this call. */
+    public List<Scene> defaultScenes(long sharedVersion) {
+        Snapshot<Scene> s = scenes;
+        if (s != null && s.version == sharedVersion) {
+            s.verifiedNanos = System.nanoTime();
+            return s.items;
+        }
+        // rows loaded after the version was read are at least that new
+        s = new Snapshot<>(List.copyOf(sceneRepository.findByIsDefaultTrueOrderById()), sharedVersion);
+        scenes = s;
+        return s.items;
+    }
+
+    public List<Sound> builtInSounds() {
+        Snapshot<Sound> s = sounds;
+        if (s != null && System.nanoTime() - s.verifiedNanos < REVALIDATE_AFTER_NANOS) return s.items;
+        return builtInSounds(changeVersionService.sharedVersion(SyncCollection.SOUNDS));
+    }
+
+    /** For callers that already read the shared sounds version; it must be read before this call. */
+    public List<Sound> builtInSounds(long sharedVersion) {
+        Snapshot<Sound> s = sounds;
+        if (s != null && s.version == sharedVersion) {
+            s.verifiedNanos = System.nanoTime();
+            return s.items;
+        }
+        s = new Snapshot<>(List.copyOf(soundRepository.findByUserIsNullOrderById()), sharedVersion);
+        sounds = s;
+        return s.items;
+    }
+
+    /** Drops this node's default scenes once the shared change commits; call next to sharedChanged. */
+    public void scenesChangedAfterCommit() {
+        TransactionHooks.afterCommit(() -> scenes = null);
+    }
+
+    /** Drops this node's built-in sounds once the shared change commits; call next to sharedChanged. */
+    public void soundsChangedAfterCommit() {
+        TransactionHooks.afterCommit(() -> sounds = null);
+    }
+
+    /** Hook for catalog rows changed without a shared version bump (e.g. seeded by SQL); this node only. */
+    public void invalidate() {
+        scenes = null;
+        sounds = null;
+    }
+}
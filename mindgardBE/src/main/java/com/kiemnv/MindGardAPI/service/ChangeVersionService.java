@@ -0,0 +1,163 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.entity.CollectionVersion;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
+import com.kiemnv.MindGardAPI.entity.SyncTombstone;
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.repository.SyncTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hands out the per-user change versions that delta sync is built on.
+ *
+ * The counter is bumped with a single upsert on sync_state, which keeps the user's row locked
+ * until the writing transaction ends. A second write for the same user waits for the first to
+ * commit, so versions become visible in order and a client that has seen version N can never
+ * later miss a change at or below N. Call from inside the service's write transaction.
+ *
+ * The same statement records the version against the written collection in collection_versions,
+ * which is what the collection endpoints use as their ETag: a conditional GET costs one indexed
+ * row lookup instead of the listing query and its serialization, and stays correct across nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeVersionService {
+
+    public record State(long version, long prunedThrough) {
+    }
+
+    /** The user's own and the shared version of one collection, as read for an ETag check. */
+    public record Versions(long own, long shared) {
+        public String etag() {
+            return "\"" + own + "." + shared + "\"";
+        }
+    }
+
+    private static final int TOMBSTONE_RETENTION_DAYS = 30;
+    private static final long SHARED_OWNER = 0L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    public long nextVersion(Long userId, SyncCollection collection) {
+        Long version = jdbcTemplate.queryForObject("""
+                WITH next AS (
+                    INSERT INTO sync_state (user_id, version, pruned_through) VALUES (?, 1, 0)
+                    ON CONFLICT (user_id) DO UPDATE SET version = sync_state.version + 1
+                    RETURNING version
+                )
+                INSERT INTO collection_versions (user_id, collection, version)
+                SELECT ?, ?, version FROM next
+                ON CONFLICT (user_id, collection) DO UPDATE SET version = EXCLUDED.version
+                RETURNING version
+                """, Long.class, userId, userId, collection.name());
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Bumps the version of shared rows (user == null default scenes and built-in sounds), which
+     * every user's listing of that collection includes.
+     */
+    public void sharedChanged(SyncCollection collection) {
+        jdbcTemplate.update("""
+                INSERT INTO collection_versions (user_id, collection, version) VALUES (?, ?, 1)
+                ON CONFLICT (user_id, collection) DO UPDATE SET version = collection_versions.version + 1
+                """, SHARED_OWNER, collection.name());
+    }
+
+    /** The user's own version of a collection; 0 before its first write. */
+    public long version(Long userId, SyncCollection collection) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT version FROM collection_versions WHERE user_id = ? AND collection = ?",
+                Long.class, userId, collection.name());
+        return rows.isEmpty() ? 0L : rows.get(0);
+    }
+
+    /** Version of the shared rows of a collection, bumped by {@link #sharedChanged}. */
+    public long sharedVersion(SyncCollection collection) {
+        return version(SHARED_OWNER, collection);
+    }
+
+    /**
+     * Strong ETag for the user's view of a collection, built from the user's and the shared
+     * version only. Read it before loading the collection: a write that lands in between then
+     * produces a newer tag on the next request instead of a stale 304.
+     */
+    public String etag(Long userId, SyncCollection collection) {
+        return versions(userId, collection).etag();
+    }
+
+    /**
+     * Both versions behind {@link #etag} in one lookup, for endpoints that also hand them to a
+     * cache so it need not read them again.
+     */
+    public Versions versions(Long userId, SyncCollection collection) {
+        long own = 0, shared = 0;
+        for (CollectionVersion v : jdbcTemplate.query(
+                "SELECT user_id, version FROM collection_versions WHERE collection = ? AND user_id IN (?, ?)",
+                (rs, i) -> CollectionVersion.builder().userId(rs.getLong(1)).version(rs.getLong(2)).build(),
+                collection.name(), userId, SHARED_OWNER)) {
+            if (v.getUserId() == SHARED_OWNER) shared = v.getVersion();
+            else own = v.getVersion();
+        }
+        return new Versions(own, shared);
+    }
+
+    /** Stamps a new version and records the deletion under it. */
+    public void tombstone(User user, SyncCollection collection, Long entityId) {
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .user(user)
+                .collection(collection)
+                .entityId(entityId)
+                .changeVersion(nextVersion(user.getId(), collection))
+                .build());
+    }
+
+    /** Records several deletions under one version the caller already stamped (bulk writes). */
+    public void tombstones(User user, SyncCollection collection, Collection<Long> entityIds, long version) {
+        syncTombstoneRepository.saveAll(entityIds.stream()
+                .map(id -> SyncTombstone.builder()
+                        .user(user)
+                        .collection(collection)
+                        .entityId(id)
+                        .changeVersion(version)
+                        .build())
+                .toList());
+    }
+
+    public State currentState(Long userId) {
+        List<State> rows = jdbcTemplate.query(
+                "SELECT version, pruned_through FROM sync_state WHERE user_id = ?",
+                (rs, i) -> new State(rs.getLong(1), rs.getLong(2)), userId);
+        return rows.isEmpty() ? new State(0, 0) : rows.get(0);
+    }
+
+    /**
+     * Drops old tombstones and moves each affected user's pruned_through past them, so a client
+     * syncing from before that point gets a full snapshot instead of silently keeping deleted rows.
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    @Transactional
+    public void pruneTombstones() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(TOMBSTONE_RETENTION_DAYS));
+        jdbcTemplate.update("""
+                UPDATE sync_state s SET pruned_through = GREATEST(s.pruned_through, t.max_version)
+                FROM (SELECT user_id, MAX(change_version) AS max_version
+                      FROM sync_tombstones WHERE deleted_at < ? GROUP BY user_id) t
+                WHERE s.user_id = t.user_id
+                """, cutoff);
+        int deleted = jdbcTemplate.update("DELETE FROM sync_tombstones WHERE deleted_at < ?", cutoff);
+        if (deleted > 0) log.info("Deleted {} sync tombstones older than {} days", deleted, TOMBSTONE_RETENTION_DAYS);
+    }
+}
@@ -0,0 +1,190 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.repository.FriendshipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory undirected friendship graph: for each user, the sorted ids of their friends.
+ *
+ * Adjacency arrays are immutable once published; an update replaces the arrays of the two users
+ * involved, so reads never lock. Writes are rare (accept/unfriend) and serialized on this object.
+ * The graph is loaded from the friendships table once at startup; until then {@link #isReady()} is false and callers fall back
+ * to SQL. Updates made while the load is running are journaled and replayed on top of the snapshot.
+ *
+ * State is per node, like AccessTokenRevocationService; with several instances an update is only
+ * seen by the node that handled it until the others restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FriendGraph implements ApplicationRunner {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final FriendshipRepository friendshipRepository;
+
+    private volatile Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private boolean loading;
+    private final List<long[]> journal = new ArrayList<>(); // {a, b, 1=add / 0=remove}
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload();
+    }
+
+    public void reload() {
+        synchronized (this) {
+            loading = true;
+            journal.clear();
+        }
+        try {
+            long start = System.nanoTime();
+            Map<Long, long[]> loaded = build(friendshipRepository.findAllPairs());
+            synchronized (this) {
+                for (long[] op : journal) {
+                    if (op[2] == 1) link(loaded, op[0], op[1]);
+                    else unlink(loaded, op[0], op[1]);
+                }
+                adjacency = loaded;
+                ready = true;
+            }
+            log.info("Friend graph loaded: {} users in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            synchronized (this) {
+                loading = false;
+                journal.clear();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean areFriends(long a, long b) {
+        long[] fa = adjacency.getOrDefault(a, EMPTY);
+        long[] fb = adjacency.getOrDefault(b, EMPTY);
+        return fa.length <= fb.length
+                ? Arrays.binarySearch(fa, b) >= 0
+                : Arrays.binarySearch(fb, a) >= 0;
+    }
+
+    public int countFriends(long userId) {
+        return adjacency.getOrDefault(userId, EMPTY).length;
+    }
+
+    /** Friend ids in ascending order. The returned array is a copy. */
+    public long[] friendIds(long userId) {
+        return adjacency.getOrDefault(userId, EMPTY).clone();
+    }
+
+    public synchronized void addFriendship(long a, long b) {
+        if (a == b) return;
+        link(adjacency, a, b);
+        if (loading) journal.add(new long[]{a, b, 1});
+    }
+
+    public synchronized void removeFriendship(long a, long b) {
+        unlink(adjacency, a, b);
+        if (loading) journal.add(new long[]{a, b, 0});
+    }
+
+    /** Applies the change once the surrounding transaction commits, or immediately if there is none. */
+    public void addFriendshipAfterCommit(long a, long b) {
+        TransactionHooks.afterCommit(() -> addFriendship(a, b));
+    }
+
+    public void removeFriendshipAfterCommit(long a, long b) {
+        TransactionHooks.afterCommit(() -> removeFriendship(a, b));
+    }
+
+    private static void link(Map<Long, long[]> graph, long a, long b) {
+        graph.put(a, insert(graph.getOrDefault(a, EMPTY), b));
+        graph.put(b, insert(graph.getOrDefault(b, EMPTY), a));
+    }
+
+    private static void unlink(Map<Long, long[]> graph, long a, long b) {
+        removeFrom(graph, a, b);
+        removeFrom(graph, b, a);
+    }
+
+    private static void removeFrom(Map<Long, long[]> graph, long owner, long id) {
+        long[] ids = graph.get(owner);
+        if (ids == null) return;
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) return;
+        if (ids.length == 1) {
+            graph.remove(owner);
+            return;
+        }
+        long[] out = new long[ids.length - 1];
+        System.arraycopy(ids, 0, out, 0, i);
+        System.arraycopy(ids, i + 1, out, i, ids.length - i - 1);
+        graph.put(owner, out);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int i = Arrays.binarySearch(ids, id);
+        if (i >= 0) return ids;
+        int at = -i - 1;
+        long[] out = new long[ids.length + 1];
+        System.arraycopy(ids, 0, out, 0, at);
+        out[at] = id;
+        System.arraycopy(ids, at, out, at + 1, ids.length - at);
+        return out;
+    }
+
+    private static Map<Long, long[]> build(List<Object[]> pairs) {
+        Map<Long, long[]> buffers = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (Object[] pair : pairs) {
+            long a = ((Number) pair[0]).longValue();
+            long b = ((Number) pair[1]).longValue();
+            if (a == b) continue;
+            append(buffers, sizes, a, b);
+            append(buffers, sizes, b, a);
+        }
+
+        Map<Long, long[]> graph = new ConcurrentHashMap<>(Math.max(16, buffers.size() * 4 / 3));
+        buffers.forEach((userId, buffer) -> {
+            long[] ids = Arrays.copyOf(buffer, sizes.get(userId));
+            Arrays.sort(ids);
+            graph.put(userId, dedupe(ids));
+        });
+        return graph;
+    }
+
+    private static void append(Map<Long, long[]> buffers, Map<Long, Integer> sizes, long owner, long id) {
+        long[] buffer = buffers.get(owner);
+        int size = sizes.getOrDefault(owner, 0);
+        if (buffer == null) {
+            buffer = new long[4];
+        } else if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, size * 2);
+        }
+        buffer[size] = id;
+        buffers.put(owner, buffer);
+        sizes.put(owner, size + 1);
+    }
+
+    private static long[] dedupe(long[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[n++] = sorted[i];
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+}
@@ -2,29 +2,70 @@ package com.kiemnv.MindGardAPI.service;
 
 import com.kiemnv.MindGardAPI.dto.response.FriendRequestDto;
 import com.kiemnv.MindGardAPI.dto.response.FriendUserDto;
+import com.kiemnv.MindGardAPI.dto.response.RelationshipStatusDto;
 import com.kiemnv.MindGardAPI.entity.FriendRequest;
 import com.kiemnv.MindGardAPI.entity.User;
 import com.kiemnv.MindGardAPI.repository.FriendRequestRepository;
+import com.kiemnv.MindGardAPI.repository.FriendshipRepository;
+import com.kiemnv.MindGardAPI.repository.UserCardView;
 import com.kiemnv.MindGardAPI.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class FriendService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // (friendId, since) rows: newest friendship first, then by id
+    private static final Comparator<Object[]> NEWEST_FRIENDSHIP_FIRST = Comparator
+            .comparing((Object[] r) -> (LocalDateTime) r[1], Comparator.reverseOrder())
+            .thenComparing(r -> (Long) r[0]);
+
     private final FriendRequestRepository friendRequestRepository;
+    private final FriendshipRepository friendshipRepository;
     private final UserRepository userRepository;
+    private final FriendGraph friendGraph;
+    private final FriendSuggestionService friendSuggestionService;
+    private final UserSearchIndex userSearchIndex;
+    private final ActivityFeedService activityFeedService;
 
     @Transactional(readOnly = true)
     public long countFriends(Long userId) {
-        return friendRequestRepository.countFriends(userId);
+        if (friendGraph.isReady()) return friendGraph.countFriends(userId);
+        return friendshipRepository.countByUserLowId(userId) + friendshipRepository.countByUserHighId(userId);
+    }
+
+    private boolean areFriends(Long a, Long b) {
+        if (friendGraph.isReady()) return friendGraph.areFriends(a, b);
+        return friendshipRepository.existsByUserLowIdAndUserHighId(Math.min(a, b), Math.max(a, b));
+    }
+
+    /** Records the friendship in the same transaction as the request status change. */
+    private void link(Long a, Long b) {
+        friendshipRepository.insertIfAbsent(Math.min(a, b), Math.max(a, b), LocalDateTime.now());
+        friendGraph.addFriendshipAfterCommit(a, b);
+        TransactionHooks.afterCommit(() -> {
+            friendSuggestionService.invalidateAround(a, b);
+            activityFeedService.invalidate(a, b);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -32,7 +73,7 @@ public class FriendService {
         if (viewerId == null || targetId == null) return "NONE";
         if (viewerId.equals(targetId)) return "SELF";
 
-        if (friendRequestRepository.areFriends(viewerId, targetId)) return "ACCEPTED";
+        if (areFriends(viewerId, targetId)) return "ACCEPTED";
 
         List<FriendRequest> any = friendRequestRepository.findAnyBetween(viewerId, targetId);
         for (FriendRequest fr : any) {
@@ -45,6 +86,45 @@ public class FriendService {
         return "NONE";
     }
 
+    /**
+     * Statuses for many targets at once, in request order (duplicates dropped): one friendship
+     * lookup (in memory when the graph is loaded) and one query for pending requests.
+     */
+    @Transactional(readOnly = true)
+    public List<RelationshipStatusDto> getRelationshipStatuses(Long viewerId, List<Long> targetIds) {
+        Set<Long> targets = new LinkedHashSet<>(targetIds);
+        targets.remove(null);
+        Set<Long> others = new HashSet<>(targets);
+        others.remove(viewerId);
+
+        Set<Long> friends = new HashSet<>();
+        Map<Long, RelationshipStatusDto> pending = new HashMap<>();
+        if (!others.isEmpty()) {
+            if (friendGraph.isReady()) {
+                for (Long id : others) if (friendGraph.areFriends(viewerId, id)) friends.add(id);
+            } else {
+                friends.addAll(friendshipRepository.findFriendIdsAmong(viewerId, others));
+            }
+
+            for (Object[] row : friendRequestRepository.findPendingBetween(viewerId, others)) {
+                Long requestId = (Long) row[0];
+                Long requesterId = (Long) row[1];
+                Long recipientId = (Long) row[2];
+                boolean sent = requesterId.equals(viewerId);
+                Long targetId = sent ? recipientId : requesterId;
+                pending.putIfAbsent(targetId, new RelationshipStatusDto(targetId, sent ? "SENT" : "RECEIVED", requestId));
+            }
+        }
+
+        List<RelationshipStatusDto> out = new ArrayList<>(targets.size());
+        for (Long id : targets) {
+            if (id.equals(viewerId)) out.add(new RelationshipStatusDto(id, "SELF", null));
+            else if (friends.contains(id)) out.add(new RelationshipStatusDto(id, "ACCEPTED", null));
+            else out.add(pending.getOrDefault(id, new RelationshipStatusDto(id, "NONE", null)));
+        }
+        return out;
+    }
+
     @Transactional(readOnly = true)
     public Long getPendingRequestIdBetween(Long a, Long b) {
         if (a == null || b == null || a.equals(b)) return null;
@@ -64,7 +144,7 @@ public class FriendService {
         User recipient = userRepository.findById(recipientId).orElseThrow(() -> new RuntimeException("Recipient not found"));
 
         // already friends?
-        if (friendRequestRepository.areFriends(viewer.getId(), recipientId)) {
+        if (areFriends(viewer.getId(), recipientId)) {
             throw new IllegalStateException("Already friends");
         }
 
@@ -75,6 +155,7 @@ public class FriendService {
                 if (fr.getRequester().getId().equals(recipientId)) {
                     fr.setStatus(FriendRequest.Status.ACCEPTED);
                     fr.setRespondedAt(LocalDateTime.now());
+                    link(viewer.getId(), recipientId);
                     return toDto(friendRequestRepository.save(fr));
                 }
                 // already sent
@@ -88,6 +169,7 @@ public class FriendService {
                 .status(FriendRequest.Status.PENDING)
                 .createdAt(LocalDateTime.now())
                 .build();
+        TransactionHooks.afterCommit(() -> friendSuggestionService.invalidate(viewer.getId(), recipientId));
         return toDto(friendRequestRepository.save(created));
     }
 
@@ -102,7 +184,8 @@ public class FriendService {
         if (q.contains("@")) {
             found = userRepository.findByEmailIgnoreCase(q);
         } else {
-            found = userRepository.findByUsernameIgnoreCase(q);
+            Long indexedId = userSearchIndex.findIdByUsername(q);
+            found = indexedId != null ? userRepository.findById(indexedId) : userRepository.findByUsernameIgnoreCase(q);
             if (found.isEmpty()) {
                 // allow email without @ typo, try email exact too
                 found = userRepository.findByEmailIgnoreCase(q);
@@ -120,6 +203,7 @@ public class FriendService {
         if (fr.getStatus() != FriendRequest.Status.PENDING) return toDto(fr);
         fr.setStatus(FriendRequest.Status.ACCEPTED);
         fr.setRespondedAt(LocalDateTime.now());
+        link(fr.getRequester().getId(), viewer.getId());
         return toDto(friendRequestRepository.save(fr));
     }
 
@@ -130,6 +214,7 @@ public class FriendService {
         if (fr.getStatus() != FriendRequest.Status.PENDING) return toDto(fr);
         fr.setStatus(FriendRequest.Status.DECLINED);
         fr.setRespondedAt(LocalDateTime.now());
+        TransactionHooks.afterCommit(() -> friendSuggestionService.invalidate(fr.getRequester().getId(), viewer.getId()));
         return toDto(friendRequestRepository.save(fr));
     }
 
@@ -140,47 +225,83 @@ public class FriendService {
         if (fr.getStatus() != FriendRequest.Status.PENDING) return toDto(fr);
         fr.setStatus(FriendRequest.Status.CANCELED);
         fr.setRespondedAt(LocalDateTime.now());
+        TransactionHooks.afterCommit(() -> friendSuggestionService.invalidate(viewer.getId(), fr.getRecipient().getId()));
         return toDto(friendRequestRepository.save(fr));
     }
 
     @Transactional
     public void unfriend(User viewer, Long otherUserId) {
         if (viewer.getId().equals(otherUserId)) return;
-        List<FriendRequest> any = friendRequestRepository.findAnyBetween(viewer.getId(), otherUserId);
-        for (FriendRequest fr : any) {
-            if (fr.getStatus() == FriendRequest.Status.ACCEPTED) {
-                friendRequestRepository.delete(fr);
-                return;
-            }
-        }
-        throw new RuntimeException("Not friends");
+        int removed = friendshipRepository.deletePair(Math.min(viewer.getId(), otherUserId), Math.max(viewer.getId(), otherUserId));
+        if (removed == 0) throw new RuntimeException("Not friends");
+        // drop the accepted request too, so either side can send a new one later
+        friendRequestRepository.deleteAcceptedBetween(viewer.getId(), otherUserId);
+        friendGraph.removeFriendshipAfterCommit(viewer.getId(), otherUserId);
+        TransactionHooks.afterCommit(() -> {
+            friendSuggestionService.invalidateAround(viewer.getId(), otherUserId);
+            activityFeedService.invalidate(viewer.getId(), otherUserId);
+        });
     }
 
     @Transactional(readOnly = true)
     public List<FriendRequestDto> incoming(User viewer) {
-        List<FriendRequest> list = friendRequestRepository.findByRecipientIdAndStatusOrderByCreatedAtDesc(viewer.getId(), FriendRequest.Status.PENDING);
-        List<FriendRequestDto> out = new ArrayList<>();
-        for (FriendRequest fr : list) out.add(toDto(fr));
-        return out;
+        return incoming(viewer, Pageable.unpaged()).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FriendRequestDto> incoming(User viewer, Pageable pageable) {
+        FriendUserDto me = toUserDto(viewer);
+        return friendRequestRepository.findIncomingPending(viewer.getId(), capped(pageable))
+                .map(row -> toDto(row, toUserDto(row), me));
     }
 
     @Transactional(readOnly = true)
     public List<FriendRequestDto> outgoing(User viewer) {
-        List<FriendRequest> list = friendRequestRepository.findByRequesterIdAndStatusOrderByCreatedAtDesc(viewer.getId(), FriendRequest.Status.PENDING);
-        List<FriendRequestDto> out = new ArrayList<>();
-        for (FriendRequest fr : list) out.add(toDto(fr));
-        return out;
+        return outgoing(viewer, Pageable.unpaged()).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FriendRequestDto> outgoing(User viewer, Pageable pageable) {
+        FriendUserDto me = toUserDto(viewer);
+        return friendRequestRepository.findOutgoingPending(viewer.getId(), capped(pageable))
+                .map(row -> toDto(row, me, toUserDto(row)));
     }
 
     @Transactional(readOnly = true)
     public List<FriendUserDto> friends(User viewer) {
-        List<FriendRequest> accepted = friendRequestRepository.findAcceptedForUser(viewer.getId());
-        List<FriendUserDto> out = new ArrayList<>();
-        for (FriendRequest fr : accepted) {
-            User other = fr.getRequester().getId().equals(viewer.getId()) ? fr.getRecipient() : fr.getRequester();
-            out.add(toUserDto(other));
+        return friends(viewer, Pageable.unpaged()).getContent();
+    }
+
+    /**
+     * Friend cards, most recent friendship first. The user's (friendId, since) pairs are read from
+     * friendships without touching users and sorted here, so paging is a slice of that list and only
+     * the page's cards are read, in one query.
+     */
+    @Transactional(readOnly = true)
+    public Page<FriendUserDto> friends(User viewer, Pageable pageable) {
+        List<Object[]> rows = new ArrayList<>(friendshipRepository.findFriendIdsWithSince(viewer.getId()));
+        rows.sort(NEWEST_FRIENDSHIP_FIRST);
+        Pageable page = capped(pageable);
+        int from = page.isPaged() ? (int) Math.min(page.getOffset(), rows.size()) : 0;
+        int to = page.isPaged() ? Math.min(from + page.getPageSize(), rows.size()) : rows.size();
+        if (from == to) return new PageImpl<>(List.of(), page, rows.size());
+
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) pageIds.add((Long) rows.get(i)[0]);
+        Map<Long, FriendUserDto> cards = new HashMap<>();
+        for (UserCardView card : userRepository.findCardsByIdIn(pageIds)) cards.put(card.getId(), toUserDto(card));
+        List<FriendUserDto> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            FriendUserDto card = cards.get(id);
+            if (card != null) content.add(card);
         }
-        return out;
+        return new PageImpl<>(content, page, rows.size());
+    }
+
+    /** Sorting is fixed by the listing queries; only page number and size are taken from the request. */
+    private static Pageable capped(Pageable pageable) {
+        if (pageable.isUnpaged()) return pageable;
+        return PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
     }
 
     private FriendRequestDto toDto(FriendRequest fr) {
@@ -194,17 +315,40 @@ public class FriendService {
                 .build();
     }
 
-    private FriendUserDto toUserDto(User u) {
+    private FriendRequestDto toDto(FriendRequestRepository.RequestCardView row, FriendUserDto requester, FriendUserDto recipient) {
+        return FriendRequestDto.builder()
+                .id(row.getId())
+                .status(row.getStatus().name())
+                .createdAt(row.getCreatedAt())
+                .respondedAt(row.getRespondedAt())
+                .requester(requester)
+                .recipient(recipient)
+                .build();
+    }
+
+    static FriendUserDto toUserDto(User u) {
         if (u == null) return null;
-        String displayName = (u.getFirstName() != null && u.getLastName() != null)
-                ? (u.getFirstName() + " " + u.getLastName()).trim()
-                : (u.getFirstName() != null ? u.getFirstName() : u.getUsername());
+        return toUserDto(u.getId(), u.getUsername(), u.getFirstName(), u.getLastName(), u.getAvatarUrl(), u.getLevel());
+    }
+
+    static FriendUserDto toUserDto(UserCardView v) {
+        return toUserDto(v.getId(), v.getUsername(), v.getFirstName(), v.getLastName(), v.getAvatarUrl(), v.getLevel());
+    }
+
+    private static FriendUserDto toUserDto(FriendRequestRepository.RequestCardView v) {
+        return toUserDto(v.getUserId(), v.getUsername(), v.getFirstName(), v.getLastName(), v.getAvatarUrl(), v.getLevel());
+    }
+
+    static FriendUserDto toUserDto(Long id, String username, String firstName, String lastName, String avatarUrl, Integer level) {
+        String displayName = (firstName != null && lastName != null)
+                ? (firstName + " " + lastName).trim()
+                : (firstName != null ? firstName : username);
         return FriendUserDto.builder()
-                .id(u.getId())
-                .username(u.getUsername())
+                .id(id)
+                .username(username)
                 .displayName(displayName)
-                .avatarUrl(u.getAvatarUrl())
-                .level(u.getLevel())
+                .avatarUrl(avatarUrl)
+                .level(level)
                 .build();
     }
 }
@@ -0,0 +1,146 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.response.FriendSuggestionDto;
+import com.kiemnv.MindGardAPI.entity.UserStatus;
+import com.kiemnv.MindGardAPI.repository.FriendRequestRepository;
+import com.kiemnv.MindGardAPI.repository.UserCardView;
+import com.kiemnv.MindGardAPI.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "People you may know": friends of friends ranked by mutual-friend count.
+ *
+ * The two-hop walk runs on FriendGraph and is bounded on both hops, so a user with a very large
+ * friend list costs at most MAX_FRIENDS_SCANNED * MAX_SECOND_HOP_PER_FRIEND array reads. The best
+ * MAX_LIMIT candidates are kept in a small min-heap. Results are cached per user for CACHE_TTL and
+ * dropped when a friendship or pending request involving the user (or one of their friends) changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FriendSuggestionService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final int MAX_FRIENDS_SCANNED = 200;
+    private static final int MAX_SECOND_HOP_PER_FRIEND = 500;
+    private static final long CACHE_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private record Cached(List<FriendSuggestionDto> suggestions, long expiresAtNanos) {
+    }
+
+    private final FriendGraph friendGraph;
+    private final FriendRequestRepository friendRequestRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    @Transactional(readOnly = true)
+    public List<FriendSuggestionDto> suggest(Long userId, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // the walk needs the graph; before it has loaded there is nothing cheap to offer
+        if (!friendGraph.isReady()) return List.of();
+
+        Cached cached = cache.get(userId);
+        if (cached == null || cached.expiresAtNanos() - System.nanoTime() <= 0) {
+            cached = new Cached(compute(userId), System.nanoTime() + CACHE_TTL_NANOS);
+            cache.put(userId, cached);
+        }
+        List<FriendSuggestionDto> all = cached.suggestions();
+        return all.size() <= k ? all : all.subList(0, k);
+    }
+
+    /** Drops cached suggestions of both users; for request changes, which only affect exclusions. */
+    public void invalidate(Long a, Long b) {
+        cache.remove(a);
+        cache.remove(b);
+    }
+
+    /**
+     * Drops cached suggestions of both users and their friends, whose two-hop neighbourhood now
+     * includes (or no longer includes) the other side. Call after the graph has been updated.
+     */
+    public void invalidateAround(Long a, Long b) {
+        invalidate(a, b);
+        if (cache.isEmpty()) return;
+        for (long id : friendGraph.friendIds(a)) cache.remove(id);
+        for (long id : friendGraph.friendIds(b)) cache.remove(id);
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        cache.values().removeIf(c -> c.expiresAtNanos() - now <= 0);
+    }
+
+    private List<FriendSuggestionDto> compute(Long userId) {
+        long[] friends = friendGraph.friendIds(userId);
+        if (friends.length == 0) return List.of();
+
+        Set<Long> excluded = new HashSet<>(friendRequestRepository.findPendingCounterpartIds(userId));
+        excluded.add(userId);
+
+        Map<Long, Integer> mutualCounts = new HashMap<>();
+        int scanned = Math.min(friends.length, MAX_FRIENDS_SCANNED);
+        for (int i = 0; i < scanned; i++) {
+            long[] secondHop = friendGraph.friendIds(friends[i]);
+            int hops = Math.min(secondHop.length, MAX_SECOND_HOP_PER_FRIEND);
+            for (int j = 0; j < hops; j++) {
+                long candidate = secondHop[j];
+                if (excluded.contains(candidate) || friendGraph.areFriends(userId, candidate)) continue;
+                mutualCounts.merge(candidate, 1, Integer::sum);
+            }
+        }
+        if (mutualCounts.isEmpty()) return List.of();
+
+        // fetch a few spare candidates so inactive accounts can be dropped without a second round
+        List<long[]> ranked = topK(mutualCounts, MAX_LIMIT + MAX_LIMIT / 2);
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (long[] r : ranked) ids.add(r[0]);
+        Map<Long, UserCardView> cards = new HashMap<>();
+        for (UserCardView card : userRepository.findCardsByIdInAndStatus(ids, UserStatus.ACTIVE)) {
+            cards.put(card.getId(), card);
+        }
+
+        List<FriendSuggestionDto> out = new ArrayList<>(MAX_LIMIT);
+        for (long[] r : ranked) {
+            UserCardView card = cards.get(r[0]);
+            if (card == null) continue;
+            out.add(new FriendSuggestionDto(FriendService.toUserDto(card), (int) r[1]));
+            if (out.size() == MAX_LIMIT) break;
+        }
+        return List.copyOf(out);
+    }
+
+    /** Highest counts first, ties broken by lower user id; each entry is {userId, count}. */
+    private static List<long[]> topK(Map<Long, Integer> counts, int k) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(k + 1, (x, y) ->
+                x[1] != y[1] ? Long.compare(x[1], y[1]) : Long.compare(y[0], x[0]));
+        for (Map.Entry<Long, Integer> e : counts.entrySet()) {
+            long[] entry = {e.getKey(), e.getValue()};
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (heap.comparator().compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<long[]> out = new ArrayList<>(heap);
+        out.sort(heap.comparator().reversed());
+        return out;
+    }
+}
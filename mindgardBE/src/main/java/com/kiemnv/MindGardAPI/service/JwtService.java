@@ -11,9 +11,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -96,30 +100,40 @@ public class JwtService {
     }
 
     public boolean validateToken(String token, String expectedTokenType) {
+        return verifyAndGetClaims(token, expectedTokenType) != null;
+    }
+
+    /**
+     * Parses and verifies the token once and returns its claims, or null if the signature,
+     * expiry, issuer or token type is invalid.
+     */
+    public JWTClaimsSet verifyAndGetClaims(String token, String expectedTokenType) {
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
             JWSVerifier verifier = new MACVerifier(jwtProperties.getSecretKey().getBytes());
 
             if (!signedJWT.verify(verifier)) {
-                return false;
+                return null;
             }
 
             JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
             if (claims.getExpirationTime() == null || claims.getExpirationTime().before(new Date())) {
-                return false;
+                return null;
             }
             if (claims.getIssuer() == null || !claims.getIssuer().equals(jwtProperties.getIssuer())) {
-                return false;
+                return null;
             }
             if (expectedTokenType != null) {
                 String tokenType = (String) claims.getClaim("tokenType");
-                return expectedTokenType.equals(tokenType);
+                if (!expectedTokenType.equals(tokenType)) {
+                    return null;
+                }
             }
-            return true;
+            return claims;
 
         } catch (ParseException | JOSEException e) {
             log.debug("Invalid token: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
@@ -143,6 +157,16 @@ public class JwtService {
         }
     }
 
+    /** Fixed-size lookup key for a token we persist (refresh tokens are stored by digest only). */
+    public String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public Date getExpirationFromToken(String token) {
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
@@ -1,26 +1,113 @@
 package com.kiemnv.MindGardAPI.service;
 
+import com.kiemnv.MindGardAPI.dto.request.TextPatchRequest;
+import com.kiemnv.MindGardAPI.dto.response.NoteSearchHitDto;
+import com.kiemnv.MindGardAPI.dto.response.NoteSummaryDto;
 import com.kiemnv.MindGardAPI.entity.Note;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.exception.EditConflictException;
 import com.kiemnv.MindGardAPI.repository.NoteRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class NoteService {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int PREVIEW_LENGTH = 160;
+    private static final int PREVIEW_SCAN = 2000;
+    // control characters can't occur in typed text, so they are safe highlight markers
+    private static final char START_SEL = '\u0001';
+    private static final char STOP_SEL = '\u0002';
+    private static final String TITLE_OPTIONS =
+            "HighlightAll=true, StartSel=" + START_SEL + ", StopSel=" + STOP_SEL;
+    private static final String SNIPPET_OPTIONS =
+            "MaxWords=30, MinWords=12, MaxFragments=2, FragmentDelimiter=\" … \", StartSel=" + START_SEL + ", StopSel=" + STOP_SEL;
+
     private final NoteRepository noteRepository;
+    private final ChangeVersionService changeVersionService;
 
     public Page<Note> list(User user, Pageable pageable) {
         return noteRepository.findByUserId(user.getId(), pageable);
     }
 
+    /** Page sorting is fixed (pinned, then updatedAt desc); any sort on the pageable is ignored. */
+    public Page<NoteSummaryDto> summaries(User user, Pageable pageable) {
+        Pageable unsorted = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : pageable;
+        return noteRepository.findSummaries(user.getId(), unsorted);
+    }
+
+    /** Whitespace-collapsed start of the content, cut at a word boundary; only the head is scanned. */
+    private static String preview(String content) {
+        if (content == null) return null;
+        String head = content.length() > PREVIEW_SCAN ? content.substring(0, PREVIEW_SCAN) : content;
+        String flat = head.replaceAll("\\s+", " ").trim();
+        if (flat.length() <= PREVIEW_LENGTH) return flat;
+        int cut = flat.lastIndexOf(' ', PREVIEW_LENGTH - 1);
+        return flat.substring(0, cut > PREVIEW_LENGTH / 2 ? cut : PREVIEW_LENGTH - 1) + "…";
+    }
+
+    /**
+     * Full-text search over the user's note titles and content, best match first. Snippets come
+     * back as plain text with highlight ranges rather than markup, so clients never render HTML
+     * taken from note content.
+     */
+    public List<NoteSearchHitDto> search(User user, String query, Integer limit) {
+        if (query == null || query.isBlank()) return List.of();
+        String q = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        int n = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
+        List<NoteSearchHitDto> hits = new ArrayList<>();
+        for (NoteRepository.NoteSearchView v : noteRepository.search(user.getId(), q, TITLE_OPTIONS, SNIPPET_OPTIONS, n)) {
+            List<int[]> titleHighlights = new ArrayList<>();
+            List<int[]> snippetHighlights = new ArrayList<>();
+            hits.add(NoteSearchHitDto.builder()
+                    .id(v.getId())
+                    .title(v.getTitle() != null ? stripMarks(v.getTitleHeadline(), titleHighlights) : null)
+                    .pinned(Boolean.TRUE.equals(v.getPinned()))
+                    .updatedAt(v.getUpdatedAt())
+                    .rank(v.getRank() != null ? v.getRank() : 0)
+                    .titleHighlights(titleHighlights)
+                    .snippet(stripMarks(v.getSnippet(), snippetHighlights))
+                    .snippetHighlights(snippetHighlights)
+                    .build());
+        }
+        return hits;
+    }
+
+    /** Removes the START_SEL / STOP_SEL markers, collecting the ranges they enclosed. */
+    private static String stripMarks(String marked, List<int[]> ranges) {
+        if (marked == null) return "";
+        StringBuilder out = new StringBuilder(marked.length());
+        int start = -1;
+        for (int i = 0; i < marked.length(); i++) {
+            char c = marked.charAt(i);
+            if (c == START_SEL) {
+                start = out.length();
+            } else if (c == STOP_SEL) {
+                if (start >= 0) ranges.add(new int[]{start, out.length()});
+                start = -1;
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
     public Note get(Long id, User user) {
         return noteRepository.findById(id)
                 .filter(n -> n.getUser().getId().equals(user.getId()))
@@ -32,22 +119,58 @@ public class NoteService {
         note.setUser(user);
         note.setCreatedAt(LocalDateTime.now());
         note.setUpdatedAt(LocalDateTime.now());
+        note.setPreview(preview(note.getContent()));
+        note.setContentVersion(0L);
+        note.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.NOTES));
         return noteRepository.save(note);
     }
 
+    /** Locks the row like patchContent, so a full replace can't interleave with a patch. */
     @Transactional
     public Note update(Long id, User user, Note update) {
-        Note n = get(id, user);
+        Note n = noteRepository.findForUpdate(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Note not found"));
         if (update.getTitle() != null) n.setTitle(update.getTitle());
-        if (update.getContent() != null) n.setContent(update.getContent());
+        if (update.getContent() != null) {
+            n.setContent(update.getContent());
+            n.setPreview(preview(update.getContent()));
+            n.setContentVersion(contentVersion(n) + 1);
+        }
         n.setPinned(update.isPinned());
         n.setUpdatedAt(LocalDateTime.now());
+        n.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.NOTES));
+        return noteRepository.save(n);
+    }
+
+    /**
+     * Splices the edits into the note's content. The note row is locked for the read-modify-write,
+     * and a patch whose base version is not the current content version is rejected.
+     */
+    @Transactional
+    public Note patchContent(Long id, User user, TextPatchRequest patch) {
+        Note n = noteRepository.findForUpdate(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Note not found"));
+        long current = contentVersion(n);
+        if (patch.getBaseVersion() != current) {
+            throw new EditConflictException("Note content has changed since version " + patch.getBaseVersion(), current);
+        }
+        String content = TextPatcher.apply(n.getContent(), patch.getEdits());
+        n.setContent(content);
+        n.setPreview(preview(content));
+        n.setContentVersion(current + 1);
+        n.setUpdatedAt(LocalDateTime.now());
+        n.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.NOTES));
         return noteRepository.save(n);
     }
 
+    private static long contentVersion(Note n) {
+        return n.getContentVersion() != null ? n.getContentVersion() : 0L;
+    }
+
     @Transactional
     public void delete(Long id, User user) {
         Note n = get(id, user);
         noteRepository.delete(n);
+        changeVersionService.tombstone(user, SyncCollection.NOTES, n.getId());
     }
 }
@@ -28,6 +28,7 @@ public class PomodoroService {
 
     private final PomodoroRepository pomodoroRepository;
     private final UserStatsService userStatsService;
+    private final PresenceService presenceService;
 
     public Page<PomodoroSession> list(User user, Pageable pageable) {
         return pomodoroRepository.findByUserId(user.getId(), pageable);
@@ -63,6 +64,7 @@ public class PomodoroService {
             // Completed session: full credit
             userStatsService.applyCompletedSession(user, endAt, durationMin * 60L);
         }
+        presenceService.focusEndedAfterCommit(user.getId());
         return saved;
     }
 
@@ -127,7 +129,10 @@ public class PomodoroService {
         req.setUser(user);
         req.setStartAt(LocalDateTime.now());
         req.setStatus(PomodoroSession.Status.RUNNING);
-        return pomodoroRepository.save(req);
+        PomodoroSession saved = pomodoroRepository.save(req);
+        // durationSeconds on a start request is the planned length
+        presenceService.focusStartedAfterCommit(user.getId(), saved.getStartAt(), saved.getDurationSeconds(), saved.getTask());
+        return saved;
     }
 
     @Transactional
@@ -149,6 +154,7 @@ public class PomodoroService {
                 userStatsService.applyPartialSession(user, saved.getEndAt(), saved.getDurationSeconds());
             }
         }
+        presenceService.focusEndedAfterCommit(user.getId());
         return saved;
     }
 }
@@ -0,0 +1,254 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.response.FriendPresenceDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Who is focusing right now, fed by PomodoroService and pushed to friends over Server-Sent Events.
+ *
+ * Presence is a map of userId -> current focus session with an expiry (planned duration plus a
+ * grace period, or MAX_SESSION when unknown), so a client that never calls stop drops back to
+ * IDLE on its own.
+ *
+ * Each subscriber has a small bounded outbound queue drained by a shared sender pool, one drain
+ * at a time per subscriber so events stay in order. Publishing only enqueues, so a slow client
+ * never holds up anyone else: when its queue overflows, or a single write has been blocked for
+ * longer than WRITE_TIMEOUT, it is disconnected and the browser's EventSource reconnects and
+ * receives a fresh snapshot. Heartbeats and expiry sweeps run on a separate scheduler thread.
+ *
+ * State is per node, like FriendGraph: with several instances, sticky sessions are needed for
+ * subscribers to see presence changes handled by another node.
+ */
+@Slf4j
+@Service
+public class PresenceService {
+
+    public static final String FOCUSING = "FOCUSING";
+    public static final String IDLE = "IDLE";
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 25;
+    private static final long EXPIRY_SWEEP_SECONDS = 30;
+    private static final long GRACE_SECONDS = 600;
+    private static final long MAX_SESSION_SECONDS = TimeUnit.HOURS.toSeconds(3);
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int SENDER_THREADS = 4;
+    private static final long WRITE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private record Presence(FriendPresenceDto dto, LocalDateTime expiresAt) {
+    }
+
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        /** System.nanoTime() when the in-flight write started, 0 when idle. */
+        final AtomicLong writeStartedAt = new AtomicLong();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) return;
+            if (!queue.offer(event)) {
+                log.debug("Presence subscriber {} too slow; disconnecting", userId);
+                disconnect(null);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                writeStartedAt.set(System.nanoTime());
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    disconnect(e);
+                } finally {
+                    writeStartedAt.set(0);
+                }
+            }
+            draining.set(false);
+            // an event offered after the last poll but before the flag was cleared
+            if (!closed.get() && !queue.isEmpty()) scheduleDrain();
+        }
+
+        boolean writeTimedOut(long now) {
+            long started = writeStartedAt.get();
+            return started != 0 && now - started > WRITE_TIMEOUT_NANOS;
+        }
+
+        void disconnect(Throwable cause) {
+            if (!closed.compareAndSet(false, true)) return;
+            unsubscribe(this);
+            queue.clear();
+            try {
+                if (cause != null) emitter.completeWithError(cause);
+                else emitter.complete();
+            } catch (RuntimeException ignored) {
+                // already completed by the container
+            }
+        }
+    }
+
+    private final FriendGraph friendGraph;
+
+    private final Map<Long, Presence> presence = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService senders;
+
+    public PresenceService(FriendGraph friendGraph) {
+        this.friendGraph = friendGraph;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("presence-scheduler"));
+        this.senders = Executors.newFixedThreadPool(SENDER_THREADS, daemonThreads("presence-sender"));
+        scheduler.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::expire, EXPIRY_SWEEP_SECONDS, EXPIRY_SWEEP_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** Marks the user as focusing once the surrounding transaction commits. */
+    public void focusStartedAfterCommit(Long userId, LocalDateTime startedAt, Long plannedSeconds, String task) {
+        long ttl = plannedSeconds != null && plannedSeconds > 0
+                ? Math.min(plannedSeconds + GRACE_SECONDS, MAX_SESSION_SECONDS)
+                : MAX_SESSION_SECONDS;
+        LocalDateTime start = startedAt != null ? startedAt : LocalDateTime.now();
+        FriendPresenceDto dto = FriendPresenceDto.builder()
+                .userId(userId)
+                .state(FOCUSING)
+                .startedAt(start)
+                .expectedEndAt(plannedSeconds != null && plannedSeconds > 0 ? start.plusSeconds(plannedSeconds) : null)
+                .task(task)
+                .build();
+        TransactionHooks.afterCommit(() -> {
+            presence.put(userId, new Presence(dto, start.plusSeconds(ttl)));
+            publish(dto);
+        });
+    }
+
+    public void focusEndedAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> {
+            if (presence.remove(userId) != null) publish(idle(userId));
+        });
+    }
+
+    /** Current presence of the user's friends who are focusing. */
+    public List<FriendPresenceDto> friendsPresence(Long userId) {
+        List<FriendPresenceDto> out = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long friendId : friendGraph.friendIds(userId)) {
+            Presence p = presence.get(friendId);
+            if (p != null && p.expiresAt().isAfter(now)) out.add(p.dto());
+        }
+        return out;
+    }
+
+    /**
+     * Opens an SSE stream of the user's friends' presence: a "snapshot" event with everyone
+     * currently focusing, then one "presence" event per change.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> subscriber.disconnect(null));
+        emitter.onTimeout(() -> subscriber.disconnect(null));
+        emitter.onError(subscriber::disconnect);
+
+        // registered before the snapshot is taken, so a change racing with it is at worst sent twice
+        subscribers.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.enqueue(SseEmitter.event().name("snapshot")
+                .data(friendsPresence(userId), MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.disconnect(null)));
+        subscribers.clear();
+    }
+
+    private void publish(FriendPresenceDto dto) {
+        for (long friendId : friendGraph.friendIds(dto.getUserId())) {
+            Set<Subscriber> set = subscribers.get(friendId);
+            if (set == null) continue;
+            for (Subscriber subscriber : set) {
+                subscriber.enqueue(SseEmitter.event().name("presence").data(dto, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> {
+            for (Subscriber subscriber : set) {
+                if (subscriber.writeTimedOut(now)) subscriber.disconnect(null);
+                else subscriber.enqueue(SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    private void expire() {
+        LocalDateTime now = LocalDateTime.now();
+        presence.forEach((userId, p) -> {
+            if (!p.expiresAt().isAfter(now) && presence.remove(userId, p)) publish(idle(userId));
+        });
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static FriendPresenceDto idle(Long userId) {
+        return FriendPresenceDto.builder().userId(userId).state(IDLE).build();
+    }
+}
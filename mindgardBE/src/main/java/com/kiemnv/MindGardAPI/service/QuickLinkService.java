@@ -1,61 +1,173 @@
 package com.kiemnv.MindGardAPI.service;
 
 import com.kiemnv.MindGardAPI.entity.QuickLink;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.exception.BadRequestException;
 import com.kiemnv.MindGardAPI.repository.QuickLinkRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Quick links are ordered by fractional rank keys (RankKeys), so creating or moving a link writes
+ * only that link's row. Keys that have grown long, or that collided, are respread by a nightly
+ * rebalance.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuickLinkService {
 
+    private static final int REBALANCE_LENGTH = 12;
+    private static final int MAX_RANK_LENGTH = 64; // quicklinks.rank_key column size
+
     private final QuickLinkRepository quickLinkRepository;
+    private final ChangeVersionService changeVersionService;
 
     public Page<QuickLink> list(User user, Pageable pageable) {
         return quickLinkRepository.findByUserId(user.getId(), pageable);
     }
 
     public List<QuickLink> listAll(User user) {
-        return quickLinkRepository.findByUserIdOrderByOrdering(user.getId());
+        return quickLinkRepository.findByUserIdOrderByRankKeyAscIdAsc(user.getId());
     }
 
+    /** Appends to the end of the list, or inserts at {@code position} (0-based) when given. */
     @Transactional
-    public QuickLink create(User user, QuickLink q) {
+    public QuickLink create(User user, QuickLink q, Integer position) {
         q.setUser(user);
         q.setCreatedAt(LocalDateTime.now());
-        if (q.getOrdering() == null) {
-            int next = listAll(user).stream()
-                    .mapToInt(x -> x.getOrdering() != null ? x.getOrdering() : 0)
-                    .max().orElse(-1) + 1;
-            q.setOrdering(next);
-        }
+        q.setRankKey(position != null
+                ? rankAtPosition(user.getId(), null, position)
+                : rankAtEnd(user.getId()));
+        q.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.QUICK_LINKS));
         return quickLinkRepository.save(q);
     }
 
     @Transactional
-    public QuickLink update(Long id, User user, QuickLink update) {
-        QuickLink q = quickLinkRepository.findById(id)
-                .filter(x -> x.getUser().getId().equals(user.getId()))
-                .orElseThrow(() -> new RuntimeException("QuickLink not found"));
+    public QuickLink update(Long id, User user, QuickLink update, Integer position) {
+        QuickLink q = get(id, user);
         if (update.getTitle() != null) q.setTitle(update.getTitle());
         if (update.getUrl() != null) q.setUrl(update.getUrl());
         if (update.getIcon() != null) q.setIcon(update.getIcon());
-        if (update.getOrdering() != null) q.setOrdering(update.getOrdering());
+        if (position != null) q.setRankKey(rankAtPosition(user.getId(), q.getId(), position));
+        q.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.QUICK_LINKS));
         return quickLinkRepository.save(q);
     }
 
+    /**
+     * Moves a link directly after {@code afterId}, or else directly before {@code beforeId}. Only the
+     * moved row is written; its new key is taken between the anchor's key and its current neighbour's.
+     */
     @Transactional
-    public void delete(Long id, User user) {
-        QuickLink q = quickLinkRepository.findById(id)
+    public QuickLink move(Long id, User user, Long afterId, Long beforeId) {
+        if (afterId == null && beforeId == null) {
+            throw new BadRequestException("afterId or beforeId is required");
+        }
+        if (id.equals(afterId) || id.equals(beforeId)) {
+            throw new BadRequestException("A quick link can't be moved relative to itself");
+        }
+        QuickLink q = get(id, user);
+        Long anchorId = afterId != null ? afterId : beforeId;
+        if (quickLinkRepository.findById(anchorId).filter(x -> x.getUser().getId().equals(user.getId())).isEmpty()) {
+            throw new BadRequestException("Anchor quick link not found");
+        }
+        String key = rankNextTo(user, id, afterId, beforeId);
+        if (key == null) {
+            // the anchor shares its key with a neighbour, or keys have outgrown the column
+            respread(user.getId());
+            key = rankNextTo(user, id, afterId, beforeId);
+        }
+        q.setRankKey(key);
+        q.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.QUICK_LINKS));
+        return quickLinkRepository.save(q);
+    }
+
+    /** Null when no usable key fits between the anchor and its neighbour. */
+    private String rankNextTo(User user, Long id, Long afterId, Long beforeId) {
+        Long userId = user.getId();
+        String lo;
+        String hi;
+        if (afterId != null) {
+            lo = get(afterId, user).getRankKey();
+            hi = quickLinkRepository.findFirstByUserIdAndRankKeyGreaterThanEqualAndIdNotInOrderByRankKeyAsc(userId, lo, List.of(id, afterId))
+                    .map(QuickLink::getRankKey).orElse(null);
+        } else {
+            hi = get(beforeId, user).getRankKey();
+            lo = quickLinkRepository.findFirstByUserIdAndRankKeyLessThanEqualAndIdNotInOrderByRankKeyDesc(userId, hi, List.of(id, beforeId))
+                    .map(QuickLink::getRankKey).orElse(null);
+        }
+        return fits(lo, hi) ? RankKeys.between(lo, hi) : null;
+    }
+
+    private String rankAtEnd(Long userId) {
+        String last = quickLinkRepository.findMaxRankKey(userId);
+        if (!fits(last, null)) {
+            respread(userId);
+            last = quickLinkRepository.findMaxRankKey(userId);
+        }
+        return RankKeys.between(last, null);
+    }
+
+    /** Legacy integer ordering from the FE: a target index in the list without the link itself. */
+    private String rankAtPosition(Long userId, Long selfId, int position) {
+        for (int attempt = 0; ; attempt++) {
+            List<QuickLink> others = quickLinkRepository.findByUserIdOrderByRankKeyAscIdAsc(userId).stream()
+                    .filter(x -> !x.getId().equals(selfId))
+                    .toList();
+            int p = Math.max(0, Math.min(position, others.size()));
+            String lo = p > 0 ? others.get(p - 1).getRankKey() : null;
+            String hi = p < others.size() ? others.get(p).getRankKey() : null;
+            if (fits(lo, hi)) return RankKeys.between(lo, hi);
+            if (attempt > 0) throw new IllegalStateException("Could not rank quick link");
+            respread(userId);
+        }
+    }
+
+    private static boolean fits(String lo, String hi) {
+        if (lo != null && hi != null && lo.compareTo(hi) >= 0) return false;
+        int longest = Math.max(lo != null ? lo.length() : 0, hi != null ? hi.length() : 0);
+        return longest < MAX_RANK_LENGTH;
+    }
+
+    /** Respreads the keys of users whose keys grew long through repeated inserts at the same spot. */
+    @Scheduled(cron = "0 15 4 * * *")
+    @Transactional
+    public void rebalanceRanks() {
+        List<Long> userIds = quickLinkRepository.findUserIdsNeedingRebalance(REBALANCE_LENGTH);
+        userIds.forEach(this::respread);
+        if (!userIds.isEmpty()) log.info("Rebalanced quick link ranks for {} users", userIds.size());
+    }
+
+    private void respread(Long userId) {
+        List<QuickLink> links = quickLinkRepository.findByUserIdOrderByRankKeyAscIdAsc(userId);
+        String[] keys = RankKeys.spread(links.size());
+        long version = changeVersionService.nextVersion(userId, SyncCollection.QUICK_LINKS);
+        for (int i = 0; i < links.size(); i++) {
+            links.get(i).setRankKey(keys[i]);
+            links.get(i).setChangeVersion(version);
+        }
+        quickLinkRepository.saveAll(links);
+    }
+
+    private QuickLink get(Long id, User user) {
+        return quickLinkRepository.findById(id)
                 .filter(x -> x.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new RuntimeException("QuickLink not found"));
+    }
+
+    @Transactional
+    public void delete(Long id, User user) {
+        QuickLink q = get(id, user);
         quickLinkRepository.delete(q);
+        changeVersionService.tombstone(user, SyncCollection.QUICK_LINKS, q.getId());
     }
 }
@@ -0,0 +1,88 @@
+package com.kiemnv.MindGardAPI.service;
+
+/**
+ * Fractional rank keys: base-62 digit strings read as fractions in (0, 1), so a key can always be
+ * found strictly between two others and an insert or move rewrites only the row being placed.
+ *
+ * Digits are in ASCII order, so keys sort correctly as plain strings (String.compareTo, or a "C"
+ * collation in the database). Keys never end in the zero digit, which keeps every value's string
+ * form unique. Appends and prepends step one digit past the end key instead of halving the gap,
+ * so the common "add to the end" case grows keys by one character per ~31 inserts (each new
+ * character starts at the middle digit; 5000 appends reach 162 characters). Repeated inserts still
+ * lengthen keys; {@link #spread} re-issues short, evenly spaced keys for a list.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private RankKeys() {
+    }
+
+    /**
+     * A key strictly between {@code before} and {@code after}; null {@code before} means the start
+     * of the list and null {@code after} the end.
+     */
+    public static String between(String before, String after) {
+        String a = before != null ? before : "";
+        if (after != null && a.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank keys out of order: " + before + " / " + after);
+        }
+        return midpoint(a, after);
+    }
+
+    /** {@code count} evenly spaced keys in ascending order, all of the same (minimal) length. */
+    public static String[] spread(int count) {
+        int width = 1;
+        long slots = BASE;
+        while (slots <= count) {
+            slots *= BASE;
+            width++;
+        }
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            long value = (i + 1) * slots / (count + 1);
+            char[] digits = new char[width];
+            for (int d = width - 1; d >= 0; d--) {
+                digits[d] = DIGITS.charAt((int) (value % BASE));
+                value /= BASE;
+            }
+            keys[i] = stripZeros(new String(digits));
+        }
+        return keys;
+    }
+
+    // a < b as fractions; a may be "" (zero), b null (one); neither ends in the zero digit
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            int n = 0;
+            while (n < b.length() && digitAt(a, n) == b.charAt(n)) n++;
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.length() > n ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int lo = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int hi = b != null ? DIGITS.indexOf(b.charAt(0)) : BASE;
+        if (hi - lo > 1) {
+            int digit;
+            if (b == null && !a.isEmpty()) digit = lo + 1;      // open end: step after a
+            else if (a.isEmpty() && b != null) digit = hi - 1;  // open start: step before b
+            else digit = (lo + hi) / 2;
+            return String.valueOf(DIGITS.charAt(digit));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(lo) + midpoint(a.length() > 1 ? a.substring(1) : "", null);
+    }
+
+    private static char digitAt(String s, int i) {
+        return i < s.length() ? s.charAt(i) : DIGITS.charAt(0);
+    }
+
+    private static String stripZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == DIGITS.charAt(0)) end--;
+        return key.substring(0, end);
+    }
+}
@@ -0,0 +1,82 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.config.RateLimitProperties;
+import com.kiemnv.MindGardAPI.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-route token-bucket limits for the public auth endpoints, keyed by client IP and by account.
+ * Limits come from app.security.rate-limit.routes; routes without an entry are not limited.
+ */
+@Slf4j
+@Service
+public class RateLimiterService {
+
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucketRateLimiter> ipLimiters = new HashMap<>();
+    private final Map<String, TokenBucketRateLimiter> accountLimiters = new HashMap<>();
+
+    public RateLimiterService(RateLimitProperties properties) {
+        this.properties = properties;
+        properties.getRoutes().forEach((route, limit) -> {
+            if (limit.getIpCapacity() > 0) {
+                ipLimiters.put(route, new TokenBucketRateLimiter(limit.getIpCapacity(), limit.getIpRefillPerMinute(), properties.getMaxBuckets()));
+            }
+            if (limit.getAccountCapacity() > 0) {
+                accountLimiters.put(route, new TokenBucketRateLimiter(limit.getAccountCapacity(), limit.getAccountRefillPerMinute(), properties.getMaxBuckets()));
+            }
+        });
+    }
+
+    public boolean isLimited(String route) {
+        return properties.isEnabled() && ipLimiters.containsKey(route);
+    }
+
+    /** Returns null when the route has no per-IP limit. */
+    public TokenBucketRateLimiter.Decision tryAcquireForIp(String route, String ip) {
+        if (!properties.isEnabled()) return null;
+        TokenBucketRateLimiter limiter = ipLimiters.get(route);
+        return limiter != null ? limiter.tryAcquire(ip) : null;
+    }
+
+    /**
+     * Per-account check for routes that carry a username in the body (login). Writes the
+     * rate-limit headers and throws {@link TooManyRequestsException} when the bucket is empty.
+     */
+    public void checkAccount(String route, String username, HttpServletResponse response) {
+        if (!properties.isEnabled() || username == null) return;
+        TokenBucketRateLimiter limiter = accountLimiters.get(route);
+        if (limiter == null) return;
+
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+        if (response != null) writeHeaders(response, decision);
+        if (!decision.allowed()) {
+            log.warn("Rate limit hit for account '{}' on {}", username, route);
+            throw new TooManyRequestsException("Too many attempts for this account, please retry later", decision.resetSeconds());
+        }
+    }
+
+    public void writeHeaders(HttpServletResponse response, TokenBucketRateLimiter.Decision decision) {
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long idleNanos = properties.getIdleEviction().toNanos();
+        int evicted = 0;
+        for (TokenBucketRateLimiter limiter : ipLimiters.values()) evicted += limiter.evictIdle(idleNanos);
+        for (TokenBucketRateLimiter limiter : accountLimiters.values()) evicted += limiter.evictIdle(idleNanos);
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets", evicted);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.config.JwtProperties;
+import com.kiemnv.MindGardAPI.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenCleanupService {
+
+    // Upper bound per run so one sweep can't monopolise the connection pool after a long outage
+    private static final int MAX_BATCHES_PER_RUN = 200;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Deletes expired and revoked refresh tokens in small batches, each in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token-cleanup-interval:PT1H}", initialDelayString = "PT5M")
+    public void cleanupExpiredTokens() {
+        int batchSize = jwtProperties.getRefreshTokenCleanupBatchSize();
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            int deleted = refreshTokenRepository.cleanupExpiredTokens(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) break;
+        }
+        if (total > 0) {
+            log.info("Refresh token cleanup removed {} expired/revoked tokens", total);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.kiemnv.MindGardAPI.service;
 
 import com.kiemnv.MindGardAPI.entity.Scene;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
 import com.kiemnv.MindGardAPI.repository.SceneRepository;
 import jakarta.transaction.Transactional;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -17,19 +19,37 @@ import java.util.List;
 public class SceneService {
 
     private final SceneRepository sceneRepository;
+    private final ChangeVersionService changeVersionService;
+    private final CatalogCache catalogCache;
 
     public Page<Scene> list(User user, Pageable pageable) {
         return sceneRepository.findByUserId(user.getId(), pageable);
     }
 
+    /** Shared default scenes from the catalog cache, then the user's own non-default scenes. */
     public List<Scene> listAll(User user) {
-        return sceneRepository.findByUserIdOrIsDefaultTrue(user.getId());
+        return merge(catalogCache.defaultScenes(), user);
+    }
+
+    /** As {@link #listAll(User)}, for callers that already read the shared version (ETag check). */
+    public List<Scene> listAll(User user, long sharedVersion) {
+        return merge(catalogCache.defaultScenes(sharedVersion), user);
+    }
+
+    private List<Scene> merge(List<Scene> defaults, User user) {
+        List<Scene> own = sceneRepository.findByUserIdAndIsDefaultFalseOrderById(user.getId());
+        List<Scene> all = new ArrayList<>(defaults.size() + own.size());
+        all.addAll(defaults);
+        all.addAll(own);
+        return all;
     }
 
     @Transactional
     public Scene create(User user, Scene s) {
         s.setUser(user);
         s.setCreatedAt(LocalDateTime.now());
+        s.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.SCENES));
+        if (s.isDefault()) sharedChanged();
         return sceneRepository.save(s);
     }
 
@@ -38,9 +58,13 @@ public class SceneService {
         Scene s = sceneRepository.findById(id)
                 .filter(x -> x.getUser() == null || x.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new RuntimeException("Scene not found or not allowed"));
+        boolean wasShared = isShared(s);
         if (update.getName() != null) s.setName(update.getName());
         if (update.getSettingsJson() != null) s.setSettingsJson(update.getSettingsJson());
         s.setDefault(update.isDefault());
+        // shared defaults (user == null) are not versioned per user; see SyncService
+        if (s.getUser() != null) s.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.SCENES));
+        if (wasShared || isShared(s)) sharedChanged();
         return sceneRepository.save(s);
     }
 
@@ -50,5 +74,17 @@ public class SceneService {
                 .filter(x -> x.getUser() == null || x.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new RuntimeException("Scene not found or not allowed"));
         sceneRepository.delete(s);
+        if (s.getUser() != null) changeVersionService.tombstone(user, SyncCollection.SCENES, s.getId());
+        if (isShared(s)) sharedChanged();
+    }
+
+    private void sharedChanged() {
+        changeVersionService.sharedChanged(SyncCollection.SCENES);
+        catalogCache.scenesChangedAfterCommit();
+    }
+
+    /** Global and isDefault scenes show up in every user's listAll. */
+    private static boolean isShared(Scene s) {
+        return s.getUser() == null || s.isDefault();
     }
 }
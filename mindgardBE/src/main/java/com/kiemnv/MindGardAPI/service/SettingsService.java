@@ -1,34 +1,101 @@
 package com.kiemnv.MindGardAPI.service;
 
+import com.kiemnv.MindGardAPI.dto.request.TextPatchRequest;
 import com.kiemnv.MindGardAPI.entity.Settings;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.exception.EditConflictException;
 import com.kiemnv.MindGardAPI.repository.SettingsRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Settings are read on every extension start and rarely written, so reads go through a per-node
+ * cache of detached snapshots, tagged with the user's settings version in collection_versions.
+ * Writes on this node refresh the entry after commit (write-through). Cross-node changes are
+ * caught in two ways without any messaging: GET /api/settings passes in the version it already
+ * read for its ETag, so a hit costs no query beyond that check; other readers (bootstrap, quick
+ * notes) serve an entry from memory for REVALIDATE_AFTER after it was last confirmed, then
+ * re-check the version once. {@link #evictAfterCommit} drops an entry whose row changes outside
+ * this service. Users whose quick notes are longer than MAX_CACHED_QUICK_NOTES are read through
+ * rather than cached, so an entry stays a few KB at most.
+ *
+ * A user without a settings row reads the defaults; the row is first written by an update, so a
+ * GET never writes. Snapshots are shared between callers and must be treated as read-only.
+ */
 @Service
 @RequiredArgsConstructor
 public class SettingsService {
 
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final long REVALIDATE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_CACHED_QUICK_NOTES = 4096; // chars
+
     private final SettingsRepository settingsRepository;
+    private final ChangeVersionService changeVersionService;
+
+    private final Map<Long, CachedSettings> cache = new ConcurrentHashMap<>();
+
+    /** The quick notes text and the version a patch against it must name as its base. */
+    public record QuickNotes(String content, long version) {
+    }
 
+    private static final class CachedSettings {
+        final Settings settings;
+        final long version;
+        volatile long lastUsedNanos = System.nanoTime();
+        volatile long verifiedNanos = System.nanoTime(); // last time version was known current
+
+        CachedSettings(Settings settings, long version) {
+            this.settings = settings;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Served from memory while the entry was confirmed current within REVALIDATE_AFTER; otherwise
+     * re-checks the version with one single-row lookup.
+     */
     public Settings getForUser(User user) {
-        return settingsRepository.findByUserId(user.getId()).orElseGet(() -> {
-            Settings s = Settings.builder()
-                    .user(user).timezone("UTC").theme("light").pomodoroDefaults("{}")
-                    .notifications(true).syncEnabled(false)
-                    .workMin(25).breakMin(5).defaultEffect("rain").background("")
-                    .build();
-            return settingsRepository.save(s);
-        });
+        CachedSettings cached = cache.get(user.getId());
+        long now = System.nanoTime();
+        if (cached != null && now - cached.verifiedNanos < REVALIDATE_AFTER_NANOS) {
+            cached.lastUsedNanos = now;
+            return cached.settings;
+        }
+        return getForUser(user, changeVersionService.version(user.getId(), SyncCollection.SETTINGS));
+    }
+
+    /**
+     * For callers that already read the user's settings version (the ETag check). It must have
+     * been read before this call: a write landing in between only makes the loaded entry newer.
+     */
+    public Settings getForUser(User user, long version) {
+        Long userId = user.getId();
+        CachedSettings cached = cache.get(userId);
+        if (cached != null && cached.version == version) {
+            long now = System.nanoTime();
+            cached.lastUsedNanos = now;
+            cached.verifiedNanos = now;
+            return cached.settings;
+        }
+        Settings s = settingsRepository.findByUserId(userId)
+                .map(row -> snapshot(row, user))
+                .orElseGet(() -> defaults(user));
+        cachePut(userId, s, version);
+        return s;
     }
 
     @Transactional
     public Settings update(User user, Settings update) {
-        Settings s = getForUser(user);
+        Settings s = loadForWrite(user);
         if (update.getTimezone() != null) s.setTimezone(update.getTimezone());
         if (update.getTheme() != null) s.setTheme(update.getTheme());
         if (update.getPomodoroDefaults() != null) s.setPomodoroDefaults(update.getPomodoroDefaults());
@@ -38,23 +105,119 @@ public class SettingsService {
         if (update.getBreakMin() != null) s.setBreakMin(update.getBreakMin());
         if (update.getDefaultEffect() != null) s.setDefaultEffect(update.getDefaultEffect());
         if (update.getBackground() != null) s.setBackground(update.getBackground());
-        if (update.getQuickNotes() != null) s.setQuickNotes(update.getQuickNotes());
+        if (update.getQuickNotes() != null) {
+            s.setQuickNotes(update.getQuickNotes());
+            s.setQuickNotesVersion(quickNotesVersion(s) + 1);
+        }
         if (update.getBlockedDomains() != null) s.setBlockedDomains(update.getBlockedDomains());
         if (update.getAllowedDomains() != null) s.setAllowedDomains(update.getAllowedDomains());
         s.setUpdatedAt(LocalDateTime.now());
-        return settingsRepository.save(s);
+        s.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.SETTINGS));
+        Settings saved = settingsRepository.save(s);
+        refreshAfterCommit(user, saved);
+        return saved;
+    }
+
+    public QuickNotes getQuickNotes(User user) {
+        Settings s = getForUser(user);
+        return new QuickNotes(s.getQuickNotes() != null ? s.getQuickNotes() : "", quickNotesVersion(s));
     }
 
     @Transactional
-    public String getQuickNotes(User user) {
-        return getForUser(user).getQuickNotes();
+    public QuickNotes updateQuickNotes(User user, String content) {
+        Settings s = loadForWrite(user);
+        return saveQuickNotes(user, s, content != null ? content : "", quickNotesVersion(s) + 1);
     }
 
+    /**
+     * Splices the edits into the quick notes text. The settings row is locked for the
+     * read-modify-write, and a patch whose base version is not the current one is rejected.
+     */
     @Transactional
-    public void updateQuickNotes(User user, String content) {
-        Settings s = getForUser(user);
-        s.setQuickNotes(content != null ? content : "");
+    public QuickNotes patchQuickNotes(User user, TextPatchRequest patch) {
+        Settings s = loadForWrite(user);
+        long current = quickNotesVersion(s);
+        if (patch.getBaseVersion() != current) {
+            throw new EditConflictException("Quick notes have changed since version " + patch.getBaseVersion(), current);
+        }
+        return saveQuickNotes(user, s, TextPatcher.apply(s.getQuickNotes(), patch.getEdits()), current + 1);
+    }
+
+    /** Invalidation hook for writes that bypass this service (e.g. the user's row being deleted). */
+    public void evictAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> cache.remove(userId));
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        cache.values().removeIf(c -> now - c.lastUsedNanos > IDLE_EVICTION_NANOS);
+    }
+
+    private QuickNotes saveQuickNotes(User user, Settings s, String content, long version) {
+        s.setQuickNotes(content);
+        s.setQuickNotesVersion(version);
         s.setUpdatedAt(LocalDateTime.now());
-        settingsRepository.save(s);
+        s.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.SETTINGS));
+        refreshAfterCommit(user, settingsRepository.save(s));
+        return new QuickNotes(content, version);
+    }
+
+    /**
+     * The row locked for the read-modify-write (so full updates and patches apply one at a time),
+     * or unsaved defaults that the caller's save inserts.
+     */
+    private Settings loadForWrite(User user) {
+        return settingsRepository.findForUpdateByUserId(user.getId()).orElseGet(() -> defaults(user));
+    }
+
+    private void refreshAfterCommit(User user, Settings saved) {
+        Settings s = snapshot(saved, user);
+        long version = saved.getChangeVersion() != null ? saved.getChangeVersion() : 0L;
+        TransactionHooks.afterCommit(() -> cachePut(user.getId(), s, version));
+    }
+
+    private void cachePut(Long userId, Settings s, long version) {
+        if (s.getQuickNotes() == null || s.getQuickNotes().length() <= MAX_CACHED_QUICK_NOTES) {
+            cache.put(userId, new CachedSettings(s, version));
+        } else {
+            cache.remove(userId);
+        }
+    }
+
+    private static Settings defaults(User user) {
+        return Settings.builder()
+                .user(user).timezone("UTC").theme("light").pomodoroDefaults("{}")
+                .notifications(true).syncEnabled(false)
+                .workMin(25).breakMin(5).defaultEffect("rain").background("")
+                .build();
+    }
+
+    // detached copy; user is the caller's principal rather than the row's lazy proxy
+    private static Settings snapshot(Settings s, User user) {
+        return Settings.builder()
+                .id(s.getId())
+                .user(user)
+                .timezone(s.getTimezone())
+                .theme(s.getTheme())
+                .pomodoroDefaults(s.getPomodoroDefaults())
+                .notifications(s.getNotifications())
+                .syncEnabled(s.getSyncEnabled())
+                .workMin(s.getWorkMin())
+                .breakMin(s.getBreakMin())
+                .defaultEffect(s.getDefaultEffect())
+                .background(s.getBackground())
+                .quickNotes(s.getQuickNotes())
+                .quickNotesVersion(s.getQuickNotesVersion())
+                .blockedDomains(s.getBlockedDomains())
+                .allowedDomains(s.getAllowedDomains())
+                .createdAt(s.getCreatedAt())
+                .updatedAt(s.getUpdatedAt())
+                .changeVersion(s.getChangeVersion())
+                .build();
+    }
+
+    private static long quickNotesVersion(Settings s) {
+        return s.getQuickNotesVersion() != null ? s.getQuickNotesVersion() : 0L;
     }
 }
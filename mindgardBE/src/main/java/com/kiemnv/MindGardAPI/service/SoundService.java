@@ -2,6 +2,7 @@ package com.kiemnv.MindGardAPI.service;
 
 import com.kiemnv.MindGardAPI.dto.response.MusicResponse;
 import com.kiemnv.MindGardAPI.entity.Sound;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
 import com.kiemnv.MindGardAPI.repository.SoundRepository;
 import jakarta.transaction.Transactional;
@@ -19,6 +20,8 @@ import java.util.List;
 public class SoundService {
 
     private final SoundRepository soundRepository;
+    private final ChangeVersionService changeVersionService;
+    private final CatalogCache catalogCache;
 
     public List<MusicResponse> getMusicList() {
         List<MusicResponse> list = new ArrayList<>();
@@ -66,14 +69,29 @@ public class SoundService {
         return soundRepository.findByUserId(user.getId(), pageable);
     }
 
+    /** Built-in sounds from the catalog cache, then the user's own. */
     public List<Sound> listAll(User user) {
-        return soundRepository.findByUserIdOrUserIsNull(user.getId());
+        return merge(catalogCache.builtInSounds(), user);
+    }
+
+    /** As {@link #listAll(User)}, for callers that already read the shared version (ETag check). */
+    public List<Sound> listAll(User user, long sharedVersion) {
+        return merge(catalogCache.builtInSounds(sharedVersion), user);
+    }
+
+    private List<Sound> merge(List<Sound> builtIns, User user) {
+        List<Sound> own = soundRepository.findByUserIdOrderById(user.getId());
+        List<Sound> all = new ArrayList<>(builtIns.size() + own.size());
+        all.addAll(builtIns);
+        all.addAll(own);
+        return all;
     }
 
     @Transactional
     public Sound create(User user, Sound s) {
         s.setUser(user);
         s.setCreatedAt(LocalDateTime.now());
+        s.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.SOUNDS));
         return soundRepository.save(s);
     }
 
@@ -85,6 +103,9 @@ public class SoundService {
         if (update.getName() != null) s.setName(update.getName());
         if (update.getSrcUrl() != null) s.setSrcUrl(update.getSrcUrl());
         if (update.getVolumeDefault() != null) s.setVolumeDefault(update.getVolumeDefault());
+        // built-ins (user == null) are not versioned per user; see SyncService
+        if (s.getUser() != null) s.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.SOUNDS));
+        else sharedChanged();
         return soundRepository.save(s);
     }
 
@@ -94,5 +115,12 @@ public class SoundService {
                 .filter(x -> x.getUser() == null || x.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new RuntimeException("Sound not found or not allowed"));
         soundRepository.delete(s);
+        if (s.getUser() != null) changeVersionService.tombstone(user, SyncCollection.SOUNDS, s.getId());
+        else sharedChanged();
+    }
+
+    private void sharedChanged() {
+        changeVersionService.sharedChanged(SyncCollection.SOUNDS);
+        catalogCache.soundsChangedAfterCommit();
     }
 }
@@ -0,0 +1,86 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.entity.Note;
+import com.kiemnv.MindGardAPI.entity.QuickLink;
+import com.kiemnv.MindGardAPI.entity.Scene;
+import com.kiemnv.MindGardAPI.entity.Settings;
+import com.kiemnv.MindGardAPI.entity.Sound;
+import com.kiemnv.MindGardAPI.entity.SyncTombstone;
+import com.kiemnv.MindGardAPI.entity.Todo;
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.repository.NoteRepository;
+import com.kiemnv.MindGardAPI.repository.QuickLinkRepository;
+import com.kiemnv.MindGardAPI.repository.SceneRepository;
+import com.kiemnv.MindGardAPI.repository.SettingsRepository;
+import com.kiemnv.MindGardAPI.repository.SoundRepository;
+import com.kiemnv.MindGardAPI.repository.SyncTombstoneRepository;
+import com.kiemnv.MindGardAPI.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Delta sync over the user's todos, notes, quick links, scenes, sounds and settings.
+ *
+ * The user's current version is read before any rows, so every change at or below it is already
+ * committed and included; rows written meanwhile may show up early and come again on the next
+ * call, which clients apply as idempotent upserts. A full snapshot is returned for since=0, for a
+ * since older than the pruned tombstones, or for one the server has never issued.
+ *
+ * Shared default scenes and built-in sounds have no owner to version them, so they only appear
+ * in full snapshots.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    public record Changes(long version, boolean full,
+                          List<Todo> todos, List<Note> notes, List<QuickLink> quickLinks,
+                          List<Scene> scenes, List<Sound> sounds, Settings settings,
+                          List<SyncTombstone> deleted) {
+    }
+
+    private final ChangeVersionService changeVersionService;
+    private final TodoRepository todoRepository;
+    private final NoteRepository noteRepository;
+    private final QuickLinkRepository quickLinkRepository;
+    private final SceneRepository sceneRepository;
+    private final SoundRepository soundRepository;
+    private final SettingsRepository settingsRepository;
+    private final SceneService sceneService;
+    private final SoundService soundService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    public Changes changesSince(User user, long since) {
+        Long userId = user.getId();
+        ChangeVersionService.State state = changeVersionService.currentState(userId);
+
+        if (since <= 0 || since < state.prunedThrough() || since > state.version()) {
+            return new Changes(state.version(), true,
+                    todoRepository.findByUserId(userId),
+                    noteRepository.findByUserId(userId),
+                    quickLinkRepository.findByUserIdOrderByRankKeyAscIdAsc(userId),
+                    sceneService.listAll(user),
+                    soundService.listAll(user),
+                    settingsRepository.findByUserId(userId).orElse(null),
+                    List.of());
+        }
+
+        if (since == state.version()) {
+            return new Changes(since, false, List.of(), List.of(), List.of(), List.of(), List.of(), null, List.of());
+        }
+
+        Settings settings = settingsRepository.findByUserId(userId)
+                .filter(s -> s.getChangeVersion() != null && s.getChangeVersion() > since)
+                .orElse(null);
+        return new Changes(state.version(), false,
+                todoRepository.findByUserIdAndChangeVersionGreaterThan(userId, since),
+                noteRepository.findByUserIdAndChangeVersionGreaterThan(userId, since),
+                quickLinkRepository.findByUserIdAndChangeVersionGreaterThan(userId, since),
+                sceneRepository.findByUserIdAndChangeVersionGreaterThan(userId, since),
+                soundRepository.findByUserIdAndChangeVersionGreaterThan(userId, since),
+                settings,
+                syncTombstoneRepository.findByUserIdAndChangeVersionGreaterThan(userId, since));
+    }
+}
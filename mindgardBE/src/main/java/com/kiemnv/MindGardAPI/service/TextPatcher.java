@@ -0,0 +1,40 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.request.TextPatchRequest;
+import com.kiemnv.MindGardAPI.exception.BadRequestException;
+
+import java.util.List;
+
+/**
+ * Applies ranged splices to a text in one pass. Offsets refer to the base text, so the result is
+ * built by copying the untouched runs between edits rather than shifting offsets edit by edit.
+ */
+public final class TextPatcher {
+
+    private TextPatcher() {
+    }
+
+    public static String apply(String base, List<TextPatchRequest.Edit> edits) {
+        String text = base != null ? base : "";
+        int grow = 0;
+        int prevEnd = 0;
+        for (TextPatchRequest.Edit e : edits) {
+            int start = e.getStart();
+            int end = e.getEnd();
+            if (start < prevEnd || end < start || end > text.length()) {
+                throw new BadRequestException("Invalid edit range " + start + ".." + end);
+            }
+            grow += (e.getText() != null ? e.getText().length() : 0) - (end - start);
+            prevEnd = end;
+        }
+
+        StringBuilder out = new StringBuilder(text.length() + Math.max(grow, 0));
+        int copied = 0;
+        for (TextPatchRequest.Edit e : edits) {
+            out.append(text, copied, e.getStart());
+            if (e.getText() != null) out.append(e.getText());
+            copied = e.getEnd();
+        }
+        return out.append(text, copied, text.length()).toString();
+    }
+}
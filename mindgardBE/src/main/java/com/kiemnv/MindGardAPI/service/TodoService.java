@@ -1,22 +1,57 @@
 package com.kiemnv.MindGardAPI.service;
 
 import com.kiemnv.MindGardAPI.entity.Todo;
+import com.kiemnv.MindGardAPI.entity.TodoTag;
+import com.kiemnv.MindGardAPI.dto.request.TodoBulkRequest;
+import com.kiemnv.MindGardAPI.dto.request.TodoQueryRequest;
+import com.kiemnv.MindGardAPI.dto.response.TodoDto;
+import com.kiemnv.MindGardAPI.dto.response.TodoPageDto;
+import com.kiemnv.MindGardAPI.dto.response.TodoTagCountDto;
+import com.kiemnv.MindGardAPI.entity.SyncCollection;
 import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.exception.BadRequestException;
 import com.kiemnv.MindGardAPI.repository.TodoRepository;
+import com.kiemnv.MindGardAPI.repository.TodoTagRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TodoService {
 
+    private static final int DEFAULT_QUERY_SIZE = 50;
+    private static final int MAX_QUERY_SIZE = 100;
+    private static final int MAX_TAGS = 20;
+    private static final int MAX_TAG_LENGTH = 50;
+    // first-page bounds for the keyset queries; they sort before every real (key, id)
+    private static final LocalDateTime DUE_FLOOR = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final Integer PRIORITY_CEILING = Integer.MAX_VALUE;
+
+    public record BulkOutcome(int index, TodoBulkRequest.Operation operation, String status, String error, Todo todo) {
+    }
+
     private final TodoRepository todoRepository;
+    private final TodoTagRepository todoTagRepository;
+    private final ChangeVersionService changeVersionService;
 
     public Page<Todo> listUserTodos(User user, Pageable pageable) {
         return todoRepository.findByUserId(user.getId(), pageable);
@@ -26,6 +61,146 @@ public class TodoService {
         return todoRepository.findByUserId(user.getId());
     }
 
+    /**
+     * Filtered listing with keyset pagination: each page continues after the sort key and id of
+     * the previous page's last row (carried in an opaque cursor), so deep pages cost the same as
+     * the first and rows written between calls are neither skipped nor repeated.
+     */
+    public TodoPageDto query(User user, TodoQueryRequest q) {
+        int size = q.getSize() == null ? DEFAULT_QUERY_SIZE : Math.max(1, Math.min(q.getSize(), MAX_QUERY_SIZE));
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        Boolean completed = q.getCompleted();
+        LocalDateTime dueBefore = q.getDueBefore();
+        if (Boolean.TRUE.equals(q.getOverdue())) {
+            LocalDateTime now = LocalDateTime.now();
+            completed = false;
+            if (dueBefore == null || dueBefore.isAfter(now)) dueBefore = now;
+        }
+        Set<String> tagSet = new LinkedHashSet<>();
+        if (q.getTag() != null) tagSet.addAll(parseTags(q.getTag()));
+        if (q.getTags() != null) q.getTags().forEach(t -> tagSet.addAll(parseTags(t)));
+        // a todo matches when it has at least tagMatches of the tags: all of them, or any one
+        long tagMatches = tagSet.isEmpty() ? 0 : q.getTagMode() == TodoQueryRequest.TagMode.ANY ? 1 : tagSet.size();
+        Collection<String> tags = tagSet.isEmpty() ? List.of("") : tagSet;
+        TodoQueryRequest.Sort sort = q.getSort() != null ? q.getSort() : TodoQueryRequest.Sort.CREATED;
+        Cursor cursor = Cursor.decode(q.getCursor(), sort);
+        Long afterId = cursor != null ? cursor.id() : null;
+        Object afterKey = cursor != null ? cursor.key() : null;
+
+        Long userId = user.getId();
+        LocalDateTime dueAfter = q.getDueAfter();
+        Integer minPriority = q.getMinPriority();
+        // a cursor with no key points into the NULLS LAST segment, so the keyed segment is done
+        boolean inKeyedSegment = cursor == null || afterKey != null;
+        List<TodoDto> rows = new ArrayList<>(size + 1);
+        switch (sort) {
+            case CREATED -> rows.addAll(todoRepository.queryNewestFirst(userId, completed, dueBefore, dueAfter,
+                    minPriority, tags, tagMatches, afterId, limit));
+            case DUE -> {
+                if (inKeyedSegment) {
+                    rows.addAll(todoRepository.queryByDue(userId, completed, dueBefore, dueAfter, minPriority, tags,
+                            tagMatches, cursor != null ? (LocalDateTime) afterKey : DUE_FLOOR,
+                            cursor != null ? afterId : 0L, limit));
+                }
+                if (rows.size() <= size) {
+                    rows.addAll(todoRepository.queryUndated(userId, completed, dueBefore, dueAfter, minPriority, tags,
+                            tagMatches, inKeyedSegment ? 0L : afterId, PageRequest.of(0, size + 1 - rows.size())));
+                }
+            }
+            case PRIORITY -> {
+                if (inKeyedSegment) {
+                    rows.addAll(todoRepository.queryByPriority(userId, completed, dueBefore, dueAfter, minPriority,
+                            tags, tagMatches, cursor != null ? (Integer) afterKey : PRIORITY_CEILING,
+                            cursor != null ? afterId : Long.MAX_VALUE, limit));
+                }
+                if (rows.size() <= size) {
+                    rows.addAll(todoRepository.queryUnprioritized(userId, completed, dueBefore, dueAfter, minPriority,
+                            tags, tagMatches, inKeyedSegment ? Long.MAX_VALUE : afterId,
+                            PageRequest.of(0, size + 1 - rows.size())));
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            TodoDto last = rows.get(size - 1);
+            Object key = switch (sort) {
+                case CREATED -> "";
+                case DUE -> last.getDueAt();
+                case PRIORITY -> last.getPriority();
+            };
+            nextCursor = new Cursor(key, last.getId()).encode();
+        }
+        return TodoPageDto.builder().items(rows).nextCursor(nextCursor).build();
+    }
+
+    /** The user's tags with the number of todos carrying each, most used first. */
+    public List<TodoTagCountDto> tagCounts(User user) {
+        return todoTagRepository.countByTag(user.getId());
+    }
+
+    /** Trimmed, lower-cased, de-duplicated tags from a comma-separated string, in input order. */
+    private static List<String> parseTags(String tags) {
+        if (tags == null) return List.of();
+        Set<String> out = new LinkedHashSet<>();
+        for (String tag : tags.split(",")) {
+            String t = tag.trim().toLowerCase(Locale.ROOT);
+            if (t.isEmpty()) continue;
+            out.add(t.length() > MAX_TAG_LENGTH ? t.substring(0, MAX_TAG_LENGTH) : t);
+            if (out.size() == MAX_TAGS) break;
+        }
+        return new ArrayList<>(out);
+    }
+
+    private static String normalizeTags(String tags) {
+        List<String> parsed = parseTags(tags);
+        return parsed.isEmpty() ? null : String.join(",", parsed);
+    }
+
+    private static String joinTags(List<String> tags) {
+        return tags == null ? null : String.join(",", tags);
+    }
+
+    /** Inserts the todo_tags rows for todos whose Todo.tags was just set (after their old rows are gone). */
+    private void insertTagRows(User user, Collection<Todo> todos) {
+        List<TodoTag> rows = new ArrayList<>();
+        for (Todo todo : todos) {
+            for (String tag : parseTags(todo.getTags())) {
+                rows.add(TodoTag.builder().user(user).todo(todo).tag(tag).build());
+            }
+        }
+        if (!rows.isEmpty()) todoTagRepository.saveAll(rows);
+    }
+
+    /** Sort key (null when the row has no value for the sort column) and id of a page's last row. */
+    private record Cursor(Object key, Long id) {
+
+        String encode() {
+            String raw = (key != null ? key.toString() : "") + "~" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, TodoQueryRequest.Sort sort) {
+            if (cursor == null || cursor.isBlank()) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('~');
+                String key = raw.substring(0, sep);
+                Long id = Long.valueOf(raw.substring(sep + 1));
+                if (key.isEmpty()) return new Cursor(null, id);
+                return switch (sort) {
+                    case CREATED -> new Cursor(null, id);
+                    case DUE -> new Cursor(LocalDateTime.parse(key), id);
+                    case PRIORITY -> new Cursor(Integer.valueOf(key), id);
+                };
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+
     public Todo getByIdAndUser(Long id, User user) {
         return todoRepository.findById(id)
                 .filter(t -> t.getUser().getId().equals(user.getId()))
@@ -37,7 +212,11 @@ public class TodoService {
         todo.setUser(user);
         todo.setCreatedAt(LocalDateTime.now());
         todo.setUpdatedAt(LocalDateTime.now());
-        return todoRepository.save(todo);
+        todo.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.TODOS));
+        todo.setTags(normalizeTags(todo.getTags()));
+        Todo saved = todoRepository.save(todo);
+        insertTagRows(user, List.of(saved));
+        return saved;
     }
 
     @Transactional
@@ -47,14 +226,117 @@ public class TodoService {
         if (update.getNotes() != null) t.setNotes(update.getNotes());
         if (update.getDueAt() != null) t.setDueAt(update.getDueAt());
         if (update.getPriority() != null) t.setPriority(update.getPriority());
+        if (update.getTags() != null) retag(user, t, update.getTags());
         t.setCompleted(update.isCompleted());
         t.setUpdatedAt(LocalDateTime.now());
+        t.setChangeVersion(changeVersionService.nextVersion(user.getId(), SyncCollection.TODOS));
         return todoRepository.save(t);
     }
 
     @Transactional
     public void delete(Long id, User user) {
         Todo t = getByIdAndUser(id, user);
+        todoTagRepository.deleteByTodoIds(List.of(t.getId()));
         todoRepository.delete(t);
+        changeVersionService.tombstone(user, SyncCollection.TODOS, t.getId());
+    }
+
+    /** Replaces the todo's tags, touching todo_tags only when the normalized list changed. */
+    private void retag(User user, Todo t, String tags) {
+        String normalized = normalizeTags(tags);
+        if (Objects.equals(normalized, t.getTags())) return;
+        t.setTags(normalized);
+        todoTagRepository.deleteByTodoIds(List.of(t.getId()));
+        insertTagRows(user, List.of(t));
+    }
+
+    /**
+     * Applies a batch of create / update / complete / delete operations in one transaction.
+     * Ownership of every referenced id is checked with a single query; an operation on an id the
+     * user doesn't own, or one deleted earlier in the batch, reports NOT_FOUND without failing the
+     * rest. Updates are flushed as batched statements at commit, deletes as one IN statement, and
+     * the whole batch shares one sync version.
+     */
+    @Transactional
+    public List<BulkOutcome> bulk(User user, List<TodoBulkRequest.Operation> operations) {
+        Set<Long> ids = operations.stream()
+                .map(TodoBulkRequest.Operation::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Todo> owned = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Todo t : todoRepository.findByUserIdAndIdIn(user.getId(), ids)) owned.put(t.getId(), t);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Long version = null;
+        List<Todo> created = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        Map<Long, Todo> retagged = new LinkedHashMap<>();
+        List<BulkOutcome> outcomes = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            TodoBulkRequest.Operation op = operations.get(i);
+            if (op.getOp() == TodoBulkRequest.Op.CREATE) {
+                if (op.getText() == null || op.getText().isBlank()) {
+                    outcomes.add(new BulkOutcome(i, op, "INVALID", "text is required", null));
+                    continue;
+                }
+                if (version == null) version = changeVersionService.nextVersion(user.getId(), SyncCollection.TODOS);
+                Todo t = Todo.builder()
+                        .user(user)
+                        .title(op.getText())
+                        .completed(Boolean.TRUE.equals(op.getDone()))
+                        .tags(normalizeTags(joinTags(op.getTags())))
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .changeVersion(version)
+                        .build();
+                created.add(t);
+                outcomes.add(new BulkOutcome(i, op, "OK", null, t));
+                continue;
+            }
+
+            Todo t = op.getId() != null ? owned.get(op.getId()) : null;
+            if (t == null) {
+                outcomes.add(new BulkOutcome(i, op, "NOT_FOUND", "Todo not found", null));
+                continue;
+            }
+            if (version == null) version = changeVersionService.nextVersion(user.getId(), SyncCollection.TODOS);
+            switch (op.getOp()) {
+                case DELETE -> {
+                    owned.remove(t.getId());
+                    deleted.add(t.getId());
+                    outcomes.add(new BulkOutcome(i, op, "OK", null, null));
+                    continue;
+                }
+                case UPDATE -> {
+                    if (op.getText() != null) t.setTitle(op.getText());
+                    if (op.getDone() != null) t.setCompleted(op.getDone());
+                    String tags = op.getTags() != null ? normalizeTags(joinTags(op.getTags())) : t.getTags();
+                    if (!Objects.equals(tags, t.getTags())) {
+                        t.setTags(tags);
+                        retagged.put(t.getId(), t);
+                    }
+                }
+                case COMPLETE -> t.setCompleted(op.getDone() == null || op.getDone());
+                default -> throw new IllegalStateException("Unexpected op " + op.getOp());
+            }
+            t.setUpdatedAt(now);
+            t.setChangeVersion(version);
+            outcomes.add(new BulkOutcome(i, op, "OK", null, t));
+        }
+
+        todoRepository.saveAll(created);
+        deleted.forEach(retagged::remove);
+        if (!retagged.isEmpty()) todoTagRepository.deleteByTodoIds(retagged.keySet());
+        List<Todo> tagged = new ArrayList<>(retagged.values());
+        tagged.addAll(created);
+        insertTagRows(user, tagged);
+        if (!deleted.isEmpty()) {
+            todoTagRepository.deleteByTodoIds(deleted);
+            todoRepository.deleteAllByIdInBatch(deleted);
+            changeVersionService.tombstones(user, SyncCollection.TODOS, deleted, version);
+        }
+        return outcomes;
     }
 }
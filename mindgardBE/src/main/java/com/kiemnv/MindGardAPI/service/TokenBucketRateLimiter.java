@@ -0,0 +1,149 @@
+package com.kiemnv.MindGardAPI.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets for one limit (capacity + refill rate), keyed by an arbitrary string such as an IP.
+ *
+ * Keys are spread over a fixed set of lock-striped segments, so callers contend only with keys in
+ * the same stripe. A bucket is two primitives, allocated on first sight of a key and reused after
+ * that; refill is computed lazily from elapsed time, so no timer touches idle buckets.
+ *
+ * The number of buckets is capped (split evenly over the stripes), since keys such as client IPs
+ * can be spoofed in bulk. A new key in a full stripe replaces a bucket that has refilled
+ * completely, which is indistinguishable from a fresh one; when there is none, the new key is
+ * rejected until one refills.
+ */
+public final class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64; // power of two
+
+    public record Decision(boolean allowed, int limit, int remaining, long resetSeconds) {
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+    }
+
+    private static final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private final int capacity;
+    private final double refillPerNano;
+    private final int maxPerSegment;
+    private final Segment[] segments = new Segment[STRIPES];
+
+    public TokenBucketRateLimiter(int capacity, double refillPerMinute, int maxBuckets) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.maxPerSegment = Math.max(1, (maxBuckets + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) segments[i] = new Segment();
+    }
+
+    public Decision tryAcquire(String key) {
+        long now = System.nanoTime();
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Bucket bucket = segment.buckets.get(key);
+            if (bucket == null) {
+                if (segment.buckets.size() >= maxPerSegment && !evictOneRefilled(segment, now)) {
+                    return new Decision(false, capacity, 0, secondsUntil(1));
+                }
+                bucket = new Bucket(capacity, now);
+                segment.buckets.put(key, bucket);
+            } else {
+                refill(bucket, now);
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return new Decision(true, capacity, (int) bucket.tokens, secondsUntil(capacity - bucket.tokens));
+            }
+            return new Decision(false, capacity, 0, secondsUntil(1 - bucket.tokens));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops buckets that have been idle for at least {@code idleNanos} and have refilled
+     * completely; a new bucket for the same key would start in the same state.
+     */
+    public int evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                var it = segment.buckets.values().iterator();
+                while (it.hasNext()) {
+                    Bucket bucket = it.next();
+                    long idle = now - bucket.lastRefillNanos;
+                    if (idle >= idleNanos && bucket.tokens + idle * refillPerNano >= capacity) {
+                        it.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    private boolean evictOneRefilled(Segment segment, long now) {
+        var it = segment.buckets.values().iterator();
+        while (it.hasNext()) {
+            Bucket bucket = it.next();
+            if (bucket.tokens + (now - bucket.lastRefillNanos) * refillPerNano >= capacity) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.buckets.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private void refill(Bucket bucket, long now) {
+        long elapsed = now - bucket.lastRefillNanos;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * refillPerNano);
+            bucket.lastRefillNanos = now;
+        }
+    }
+
+    private long secondsUntil(double missingTokens) {
+        if (missingTokens <= 0) return 0;
+        if (refillPerNano <= 0) return Long.MAX_VALUE / 1_000_000_000L;
+        return (long) Math.ceil(missingTokens / refillPerNano / 1_000_000_000d);
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,28 @@
+package com.kiemnv.MindGardAPI.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (graph updates, cache invalidation) until the surrounding
+ * transaction commits, so a rollback never leaves them ahead of the database.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /** Runs the action after commit, or immediately when no transaction is active. */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
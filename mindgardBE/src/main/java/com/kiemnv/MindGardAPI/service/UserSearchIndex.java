@@ -0,0 +1,162 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.response.FriendUserDto;
+import com.kiemnv.MindGardAPI.entity.User;
+import com.kiemnv.MindGardAPI.entity.UserStatus;
+import com.kiemnv.MindGardAPI.repository.UserCardView;
+import com.kiemnv.MindGardAPI.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over active users, for the friend-invite search box.
+ *
+ * Each user is indexed under their normalized username and each normalized word of their first
+ * and last name (lower-cased, accents stripped, so "Đức" matches "duc"). Usernames and name words
+ * live in separate skip lists as "token\0userId", so a prefix query is a range scan that touches
+ * only matching keys, and the username scan runs first: a popular first name can't crowd username
+ * matches out of the scan budget. A register or profile update re-indexes just that user. Loaded at
+ * startup; per node, like FriendGraph.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserSearchIndex implements ApplicationRunner {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int MAX_SCANNED = 200;
+    private static final char SEP = '\0';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record Entry(FriendUserDto card, String usernameKey, Set<String> nameTokens) {
+    }
+
+    private final UserRepository userRepository;
+
+    private final NavigableMap<String, Long> usernameKeys = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Long> nameKeys = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        int loaded = 0;
+        for (UserCardView card : userRepository.findCardsByStatus(UserStatus.ACTIVE)) {
+            // users written since the load started are already indexed and newer than this snapshot
+            if (entries.containsKey(card.getId())) continue;
+            put(FriendService.toUserDto(card));
+            loaded++;
+        }
+        log.info("User search index loaded: {} users in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Re-indexes the user once the current transaction commits (or drops them if no longer active). */
+    public void upsertAfterCommit(User user) {
+        FriendUserDto card = user.getStatus() == UserStatus.ACTIVE ? FriendService.toUserDto(user) : null;
+        Long id = user.getId();
+        TransactionHooks.afterCommit(() -> {
+            if (card != null) put(card);
+            else remove(id);
+        });
+    }
+
+    public void removeAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> remove(userId));
+    }
+
+    /** Exact, case-insensitive username lookup. */
+    public Long findIdByUsername(String username) {
+        return username == null ? null : idsByUsername.get(username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Users whose username or a name word starts with the query. Ranked: exact username, then
+     * username prefix, then name-word prefix; shorter usernames first within each group.
+     */
+    public List<FriendUserDto> search(String query, int limit, Long excludeUserId) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) return List.of();
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Set<Long> matched = new LinkedHashSet<>();
+        scan(usernameKeys, prefix, excludeUserId, matched);
+        scan(nameKeys, prefix, excludeUserId, matched);
+
+        List<Entry> hits = new ArrayList<>(matched.size());
+        for (Long id : matched) {
+            Entry entry = entries.get(id);
+            if (entry != null) hits.add(entry);
+        }
+        hits.sort(Comparator
+                .comparingInt((Entry e) -> rank(e, prefix))
+                .thenComparingInt(e -> e.usernameKey().length())
+                .thenComparing(e -> e.card().getId()));
+
+        List<FriendUserDto> out = new ArrayList<>(Math.min(k, hits.size()));
+        for (int i = 0; i < hits.size() && out.size() < k; i++) out.add(hits.get(i).card());
+        return out;
+    }
+
+    private static void scan(NavigableMap<String, Long> keys, String prefix, Long excludeUserId, Set<Long> matched) {
+        for (Map.Entry<String, Long> e : keys.tailMap(prefix, true).entrySet()) {
+            if (matched.size() >= MAX_SCANNED || !e.getKey().startsWith(prefix)) return;
+            if (!e.getValue().equals(excludeUserId)) matched.add(e.getValue());
+        }
+    }
+
+    private static int rank(Entry e, String prefix) {
+        if (e.usernameKey().equals(prefix)) return 0;
+        if (e.usernameKey().startsWith(prefix)) return 1;
+        return 2;
+    }
+
+    private synchronized void put(FriendUserDto card) {
+        remove(card.getId());
+        String usernameKey = normalize(card.getUsername());
+        Set<String> nameTokens = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(normalize(card.getDisplayName()))) {
+            if (!word.isEmpty()) nameTokens.add(word);
+        }
+
+        Entry entry = new Entry(card, usernameKey, nameTokens);
+        entries.put(card.getId(), entry);
+        if (!usernameKey.isEmpty()) usernameKeys.put(usernameKey + SEP + card.getId(), card.getId());
+        for (String token : nameTokens) nameKeys.put(token + SEP + card.getId(), card.getId());
+        if (card.getUsername() != null) idsByUsername.put(card.getUsername().toLowerCase(Locale.ROOT), card.getId());
+    }
+
+    private synchronized void remove(Long userId) {
+        Entry old = entries.remove(userId);
+        if (old == null) return;
+        if (!old.usernameKey().isEmpty()) usernameKeys.remove(old.usernameKey() + SEP + userId);
+        for (String token : old.nameTokens()) nameKeys.remove(token + SEP + userId);
+        if (old.card().getUsername() != null) {
+            idsByUsername.remove(old.card().getUsername().toLowerCase(Locale.ROOT), userId);
+        }
+    }
+
+    static String normalize(String s) {
+        if (s == null) return "";
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(s.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return stripped.replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+    }
+}
@@ -35,6 +35,8 @@ public class UserService implements UserDetailsService {
     private final UserStatsRepository userStatsRepository;
     private final PomodoroRepository pomodoroRepository;
     private final FriendService friendService;
+    private final UserSearchIndex userSearchIndex;
+    private final SettingsService settingsService;
 
     @Override
     @Transactional(readOnly = true)
@@ -75,13 +77,17 @@ public class UserService implements UserDetailsService {
         }
         existingUser.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        userSearchIndex.upsertAfterCommit(saved);
+        return saved;
     }
 
     @Transactional
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
+        userSearchIndex.removeAfterCommit(id);
+        settingsService.evictAfterCommit(id);
     }
 
     @Transactional(readOnly = true)
@@ -2,6 +2,7 @@ package com.kiemnv.MindGardAPI.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiemnv.MindGardAPI.entity.ActivityEvent;
 import com.kiemnv.MindGardAPI.entity.PomodoroSession;
 import com.kiemnv.MindGardAPI.entity.UserStats;
 import com.kiemnv.MindGardAPI.entity.User;
@@ -29,6 +30,8 @@ public class UserStatsService {
     private final UserStatsRepository userStatsRepository;
     private final PomodoroRepository pomodoroRepository;
     private final UserRepository userRepository;
+    private final ActivityFeedService activityFeedService;
+    private final UserSearchIndex userSearchIndex;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public UserStats getForUser(User user) {
@@ -104,11 +107,20 @@ public class UserStatsService {
 
         // streak: compute based on finished sessions (authoritative)
         // For partial sessions, we still check if there's any activity on that day
+        int previousStreak = s.getDailyStreak() != null ? s.getDailyStreak() : 0;
         int streak = computeCurrentStreakDays(user.getId());
         s.setDailyStreak(streak);
         s.setUpdatedAt(LocalDateTime.now());
         userStatsRepository.save(s);
 
+        // friends' activity feed
+        if (countAsPomodoro && addMin > 0) {
+            activityFeedService.record(user, ActivityEvent.Type.SESSION_COMPLETED, addMin);
+        }
+        if (ActivityFeedService.isStreakMilestone(previousStreak, streak)) {
+            activityFeedService.record(user, ActivityEvent.Type.STREAK_MILESTONE, streak);
+        }
+
         // XP/level
         applyXpAndLevel(user.getId(), addMin);
     }
@@ -189,6 +201,7 @@ public class UserStatsService {
         long earnedXp = durationMinutes * 10L; // 10 XP / minute focus
 
         int level = user.getLevel() != null ? user.getLevel() : 1;
+        int previousLevel = level;
         long currentXp = user.getCurrentXP() != null ? user.getCurrentXP() : 0L;
         long xpToNext = user.getXpToNextLevel() != null ? user.getXpToNextLevel() : 100L;
 
@@ -204,5 +217,11 @@ public class UserStatsService {
         user.setCurrentXP(currentXp);
         user.setXpToNextLevel(xpToNext);
         userRepository.save(user);
+
+        if (level > previousLevel) {
+            activityFeedService.record(user, ActivityEvent.Type.LEVEL_UP, level);
+            // search cards show the level
+            userSearchIndex.upsertAfterCommit(user);
+        }
     }
 }
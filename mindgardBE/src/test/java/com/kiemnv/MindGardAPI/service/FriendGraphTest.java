@@ -0,0 +1,63 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.repository.FriendshipRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FriendGraphTest {
+
+	@Test
+	void loadsPairsAsUndirectedSortedAdjacency() {
+		FriendGraph graph = graphOf(new Object[]{3L, 1L}, new Object[]{1L, 2L}, new Object[]{2L, 1L}, new Object[]{4L, 4L});
+
+		assertThat(graph.isReady()).isTrue();
+		assertThat(graph.friendIds(1)).containsExactly(2, 3);
+		assertThat(graph.friendIds(2)).containsExactly(1);
+		assertThat(graph.countFriends(4)).isZero(); // self-pairs are ignored
+		assertThat(graph.areFriends(3, 1)).isTrue();
+		assertThat(graph.areFriends(2, 3)).isFalse();
+	}
+
+	@Test
+	void addAndRemoveUpdateBothSides() {
+		FriendGraph graph = graphOf();
+
+		graph.addFriendship(5, 7);
+		graph.addFriendship(5, 6);
+		graph.addFriendship(5, 6);
+		assertThat(graph.friendIds(5)).containsExactly(6, 7);
+		assertThat(graph.friendIds(7)).containsExactly(5);
+
+		graph.removeFriendship(7, 5);
+		assertThat(graph.areFriends(5, 7)).isFalse();
+		assertThat(graph.friendIds(7)).isEmpty();
+		assertThat(graph.countFriends(5)).isEqualTo(1);
+	}
+
+	@Test
+	void friendIdsReturnsACopy() {
+		FriendGraph graph = graphOf(new Object[]{1L, 2L});
+
+		graph.friendIds(1)[0] = 99;
+
+		assertThat(graph.friendIds(1)).containsExactly(2);
+	}
+
+	@Test
+	void notReadyBeforeLoad() {
+		assertThat(new FriendGraph(mock(FriendshipRepository.class)).isReady()).isFalse();
+	}
+
+	private static FriendGraph graphOf(Object[]... pairs) {
+		FriendshipRepository repository = mock(FriendshipRepository.class);
+		when(repository.findAllPairs()).thenReturn(List.of(pairs));
+		FriendGraph graph = new FriendGraph(repository);
+		graph.reload();
+		return graph;
+	}
+}
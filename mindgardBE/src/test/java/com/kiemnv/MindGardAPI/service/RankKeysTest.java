@@ -0,0 +1,77 @@
+package com.kiemnv.MindGardAPI.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+	@Test
+	void betweenIsStrictlyBetween() {
+		assertThat(RankKeys.between(null, null)).isNotEmpty();
+		assertBetween("1", "2");
+		assertBetween("1", "1V");
+		assertBetween("Az", "B");
+		assertBetween("a", "a1");
+		assertBetween(null, "1");
+		assertBetween("z", null);
+		assertBetween("zzz", null);
+	}
+
+	@Test
+	void randomInsertsKeepOrderAndNeverEndInZero() {
+		Random random = new Random(42);
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			int at = random.nextInt(keys.size() + 1);
+			String before = at > 0 ? keys.get(at - 1) : null;
+			String after = at < keys.size() ? keys.get(at) : null;
+			String key = RankKeys.between(before, after);
+			assertThat(key).doesNotEndWith("0");
+			if (before != null) assertThat(key).isGreaterThan(before);
+			if (after != null) assertThat(key).isLessThan(after);
+			keys.add(at, key);
+		}
+	}
+
+	@Test
+	void appendsGrowKeysByOneCharacterPerThirtyOneInserts() {
+		String last = null;
+		for (int i = 0; i < 5000; i++) {
+			String key = RankKeys.between(last, null);
+			if (last != null) assertThat(key).isGreaterThan(last);
+			last = key;
+		}
+		assertThat(last).hasSize(162);
+	}
+
+	@Test
+	void spreadIsAscendingMinimalAndZeroFree() {
+		for (int count : new int[]{1, 2, 61, 62, 1000, 5000}) {
+			String[] keys = RankKeys.spread(count);
+			assertThat(keys).hasSize(count);
+			for (int i = 0; i < count; i++) {
+				assertThat(keys[i]).doesNotEndWith("0").hasSizeLessThanOrEqualTo(count < 62 ? 1 : count < 3844 ? 2 : 3);
+				if (i > 0) assertThat(keys[i]).isGreaterThan(keys[i - 1]);
+			}
+		}
+	}
+
+	@Test
+	void rejectsOutOfOrderBounds() {
+		assertThatThrownBy(() -> RankKeys.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RankKeys.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void assertBetween(String before, String after) {
+		String key = RankKeys.between(before, after);
+		assertThat(key).doesNotEndWith("0");
+		if (before != null) assertThat(key).isGreaterThan(before);
+		if (after != null) assertThat(key).isLessThan(after);
+	}
+}
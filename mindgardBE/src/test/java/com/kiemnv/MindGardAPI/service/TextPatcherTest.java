@@ -0,0 +1,55 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.request.TextPatchRequest.Edit;
+import com.kiemnv.MindGardAPI.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextPatcherTest {
+
+	@Test
+	void appliesEditsAgainstBaseOffsets() {
+		String out = TextPatcher.apply("hello world", List.of(
+				new Edit(0, 5, "HELLO"),
+				new Edit(5, 5, ","),
+				new Edit(6, 11, "there")));
+
+		assertThat(out).isEqualTo("HELLO, there");
+	}
+
+	@Test
+	void deletesWithNullOrEmptyText() {
+		assertThat(TextPatcher.apply("abcdef", List.of(new Edit(1, 3, null), new Edit(4, 5, "")))).isEqualTo("adf");
+	}
+
+	@Test
+	void treatsNullBaseAsEmpty() {
+		assertThat(TextPatcher.apply(null, List.of(new Edit(0, 0, "x")))).isEqualTo("x");
+	}
+
+	@Test
+	void appendsAtEnd() {
+		assertThat(TextPatcher.apply("ab", List.of(new Edit(2, 2, "c")))).isEqualTo("abc");
+	}
+
+	@Test
+	void rejectsOutOfOrderOrOverlappingEdits() {
+		assertThatThrownBy(() -> TextPatcher.apply("abcdef", List.of(new Edit(3, 4, "x"), new Edit(1, 2, "y"))))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> TextPatcher.apply("abcdef", List.of(new Edit(1, 4, "x"), new Edit(3, 5, "y"))))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void rejectsInvalidRanges() {
+		assertThatThrownBy(() -> TextPatcher.apply("abc", List.of(new Edit(2, 1, "x"))))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> TextPatcher.apply("abc", List.of(new Edit(0, 4, "x"))))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Invalid edit range 0..4");
+	}
+}
@@ -0,0 +1,68 @@
+package com.kiemnv.MindGardAPI.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+	@Test
+	void allowsUpToCapacityThenRejects() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, 1000);
+
+		assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(2);
+		assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+		assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+
+		TokenBucketRateLimiter.Decision rejected = limiter.tryAcquire("a");
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.remaining()).isZero();
+		assertThat(rejected.resetSeconds()).isPositive();
+	}
+
+	@Test
+	void keysHaveIndependentBuckets() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 1000);
+
+		assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+		assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+		assertThat(limiter.tryAcquire("b").allowed()).isTrue();
+	}
+
+	@Test
+	void bucketCountIsCappedWhenNoneHaveRefilled() {
+		// no refill, so no bucket ever becomes evictable
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 0, 64);
+
+		int allowed = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (limiter.tryAcquire("10.0." + (i / 256) + "." + (i % 256)).allowed()) allowed++;
+		}
+
+		assertThat(limiter.size()).isLessThanOrEqualTo(64);
+		assertThat(allowed).isEqualTo(limiter.size());
+	}
+
+	@Test
+	void fullStripeReplacesRefilledBuckets() throws InterruptedException {
+		// refills a token in well under a millisecond, so every bucket is evictable again almost at once
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 600_000, 64);
+
+		for (int i = 0; i < 1_000; i++) {
+			limiter.tryAcquire("key-" + i);
+		}
+		Thread.sleep(5);
+
+		assertThat(limiter.tryAcquire("fresh").allowed()).isTrue();
+		assertThat(limiter.size()).isLessThanOrEqualTo(64);
+	}
+
+	@Test
+	void evictIdleDropsOnlyRefilledBuckets() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 0, 1000);
+		limiter.tryAcquire("spent");
+
+		assertThat(limiter.evictIdle(0)).isZero();
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+}
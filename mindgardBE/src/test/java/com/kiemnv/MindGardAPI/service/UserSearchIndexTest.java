@@ -0,0 +1,72 @@
+package com.kiemnv.MindGardAPI.service;
+
+import com.kiemnv.MindGardAPI.dto.response.FriendUserDto;
+import com.kiemnv.MindGardAPI.entity.UserStatus;
+import com.kiemnv.MindGardAPI.repository.UserCardView;
+import com.kiemnv.MindGardAPI.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserSearchIndexTest {
+
+	private record Card(Long getId, String getUsername, String getFirstName, String getLastName,
+						String getAvatarUrl, Integer getLevel) implements UserCardView {
+	}
+
+	@Test
+	void ranksExactThenUsernamePrefixThenNameWord() {
+		UserSearchIndex index = indexOf(
+				new Card(1L, "annabel", null, null, null, 1),
+				new Card(2L, "zed", "Ann", "Lee", null, 1),
+				new Card(3L, "ann", null, null, null, 1),
+				new Card(4L, "bob", null, null, null, 1));
+
+		assertThat(ids(index.search("Ann", 10, null))).containsExactly(3L, 1L, 2L);
+	}
+
+	@Test
+	void matchesNameWordsWithoutAccents() {
+		UserSearchIndex index = indexOf(new Card(1L, "x1", "Nguyễn", "Đức", null, 1));
+
+		assertThat(ids(index.search("duc", 10, null))).containsExactly(1L);
+		assertThat(ids(index.search("nguyen", 10, null))).containsExactly(1L);
+	}
+
+	@Test
+	void usernameMatchesSurviveManyNameWordMatches() {
+		List<UserCardView> cards = new ArrayList<>();
+		for (long i = 1; i <= 500; i++) cards.add(new Card(i, "u" + i, "Anh", null, null, 1));
+		cards.add(new Card(1000L, "anhthu", null, null, null, 1));
+		UserSearchIndex index = indexOf(cards.toArray(UserCardView[]::new));
+
+		assertThat(ids(index.search("anh", 5, null))).first().isEqualTo(1000L);
+	}
+
+	@Test
+	void excludesTheSearcher() {
+		UserSearchIndex index = indexOf(
+				new Card(1L, "ann", null, null, null, 1),
+				new Card(2L, "anna", null, null, null, 1));
+
+		assertThat(ids(index.search("ann", 10, 1L))).containsExactly(2L);
+		assertThat(index.findIdByUsername(" ANN ")).isEqualTo(1L);
+	}
+
+	private static UserSearchIndex indexOf(UserCardView... cards) {
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.findCardsByStatus(UserStatus.ACTIVE)).thenReturn(List.of(cards));
+		UserSearchIndex index = new UserSearchIndex(repository);
+		index.run(null);
+		return index;
+	}
+
+	private static List<Long> ids(List<FriendUserDto> cards) {
+		return cards.stream().map(FriendUserDto::getId).toList();
+	}
+}